@@ -0,0 +1,51 @@
+package br.edu.ifpi;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache + Caffeine, em memória no processo)
+ * Cada região tem tamanho máximo e TTL próprios, lidos de ecommerce.properties:
+ * ecommerce.cache.<regiao>.maximo e ecommerce.cache.<regiao>.ttl-segundos
+ */
+public class CacheSegundoNivel {
+    /** Regiões declaradas com @Cache nas entidades (Produto e Usuario) */
+    public static final String[] REGIOES = {"produto", "usuario"};
+
+    /**
+     * Cria o CacheManager com as regiões já configuradas;
+     * é entregue ao Hibernate em hibernate.javax.cache.cache_manager
+     */
+    static CacheManager criarCacheManager() {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String regiao : REGIOES) {
+            if (manager.getCache(regiao) == null) {
+                manager.createCache(regiao, configurar(regiao));
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Quantidade aproximada de entradas na região
+     * (o JCache não expõe esse número, então é lido do cache Caffeine por baixo)
+     */
+    static long tamanho(CacheManager manager, String regiao) {
+        javax.cache.Cache<Object, Object> cache = manager.getCache(regiao);
+        return cache != null ? cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize() : 0;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configurar(String regiao) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(Configuracao.getLong("ecommerce.cache." + regiao + ".maximo", 10000)));
+        long ttl = Configuracao.getLong("ecommerce.cache." + regiao + ".ttl-segundos", 600);
+        config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttl)));
+        // O Hibernate já guarda entradas desmontadas; copiar de novo (store-by-value) só custaria CPU
+        config.setStoreByValue(false);
+        return config;
+    }
+}
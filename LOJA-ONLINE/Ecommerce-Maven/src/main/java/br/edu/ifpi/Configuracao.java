@@ -0,0 +1,120 @@
+package br.edu.ifpi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Configurações da aplicação (banco, pool, JDBC, cache), em camadas; cada uma sobrescreve a anterior:
+ * <ol>
+ *   <li>ecommerce.properties (padrões)</li>
+ *   <li>perfis/banco-&lt;ecommerce.banco.perfil&gt;.properties (conexão)</li>
+ *   <li>perfis/carga-&lt;ecommerce.carga.perfil&gt;.properties (ajustes por tipo de carga)</li>
+ *   <li>variáveis de ambiente: ECOMMERCE_POOL_MAXIMO sobrescreve ecommerce.pool.maximo
+ *       ('.' e '-' viram '_'); só valem para chaves que já existem nas camadas acima</li>
+ *   <li>propriedades de sistema (ex: -Decommerce.pool.maximo=20)</li>
+ * </ol>
+ * Os dois perfis são escolhidos por propriedade de sistema, variável de ambiente ou ecommerce.properties
+ */
+public class Configuracao {
+    private static final String ARQUIVO = "ecommerce.properties";
+    private static final String PREFIXO = "ecommerce.";
+    private static final Properties propriedades = carregar();
+
+    private static Properties carregar() {
+        Properties props = new Properties();
+        carregarArquivo(props, ARQUIVO, false);
+
+        String perfilBanco = escolherPerfil(props, "ecommerce.banco.perfil", "neon");
+        String perfilCarga = escolherPerfil(props, "ecommerce.carga.perfil", "oltp");
+        carregarArquivo(props, "perfis/banco-" + perfilBanco + ".properties", true);
+        carregarArquivo(props, "perfis/carga-" + perfilCarga + ".properties", true);
+        props.setProperty("ecommerce.banco.perfil", perfilBanco);
+        props.setProperty("ecommerce.carga.perfil", perfilCarga);
+
+        for (String chave : props.stringPropertyNames()) {
+            String valor = System.getenv(nomeVariavel(chave));
+            if (valor != null) {
+                props.setProperty(chave, valor);
+            }
+        }
+        for (String chave : System.getProperties().stringPropertyNames()) {
+            if (chave.startsWith(PREFIXO)) {
+                props.setProperty(chave, System.getProperty(chave));
+            }
+        }
+        return props;
+    }
+
+    /** Propriedade de sistema, senão variável de ambiente, senão o valor do arquivo */
+    private static String escolherPerfil(Properties props, String chave, String padrao) {
+        String perfil = System.getProperty(chave);
+        if (perfil == null) {
+            perfil = System.getenv(nomeVariavel(chave));
+        }
+        if (perfil == null) {
+            perfil = props.getProperty(chave, padrao);
+        }
+        return perfil.trim();
+    }
+
+    /** ecommerce.pool.timeout-conexao-ms → ECOMMERCE_POOL_TIMEOUT_CONEXAO_MS */
+    private static String nomeVariavel(String chave) {
+        return chave.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * @throws IllegalStateException se o arquivo obrigatório não existe (perfil desconhecido)
+     */
+    private static void carregarArquivo(Properties props, String arquivo, boolean obrigatorio) {
+        try (InputStream in = Configuracao.class.getClassLoader().getResourceAsStream(arquivo)) {
+            if (in != null) {
+                props.load(in);
+            } else if (obrigatorio) {
+                throw new IllegalStateException("Arquivo de configuração não encontrado: " + arquivo);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler " + arquivo, e);
+        }
+    }
+
+    public static String get(String chave) {
+        return propriedades.getProperty(chave);
+    }
+
+    public static String get(String chave, String padrao) {
+        return propriedades.getProperty(chave, padrao);
+    }
+
+    public static int getInt(String chave, int padrao) {
+        String valor = propriedades.getProperty(chave);
+        return valor != null ? Integer.parseInt(valor.trim()) : padrao;
+    }
+
+    public static long getLong(String chave, long padrao) {
+        String valor = propriedades.getProperty(chave);
+        return valor != null ? Long.parseLong(valor.trim()) : padrao;
+    }
+
+    public static boolean getBoolean(String chave, boolean padrao) {
+        String valor = propriedades.getProperty(chave);
+        return valor != null ? Boolean.parseBoolean(valor.trim()) : padrao;
+    }
+
+    /**
+     * Todas as chaves que começam com o prefixo, sem ele
+     * (ex: "ecommerce.jdbc.driver." → {prepareThreshold=5})
+     */
+    public static Map<String, String> getComPrefixo(String prefixo) {
+        Map<String, String> resultado = new HashMap<>();
+        for (String chave : propriedades.stringPropertyNames()) {
+            if (chave.startsWith(prefixo)) {
+                resultado.put(chave.substring(prefixo.length()), propriedades.getProperty(chave));
+            }
+        }
+        return resultado;
+    }
+}
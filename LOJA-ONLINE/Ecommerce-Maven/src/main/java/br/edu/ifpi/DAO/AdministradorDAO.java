@@ -5,6 +5,8 @@ import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.Administrador;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 public class AdministradorDAO {
 
@@ -43,6 +45,54 @@ public class AdministradorDAO {
         }
     }
 
+    /**
+     * Busca o administrador pelo email sem diferenciar maiúsculas (índice funcional idx_usuario_email_lower)
+     * Retorna null se não existir. Sem o índice único em lower(email) (perfil h2, esquema gerado
+     * pelas entidades) pode haver emails que só diferem nas maiúsculas: vale o de menor id
+     */
+    public Administrador buscarPorEmail(String email) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT a FROM Administrador a WHERE lower(a.email) = :email ORDER BY a.id", Administrador.class)
+                    .setParameter("email", email.toLowerCase(Locale.ROOT))
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * true se há pelo menos um administrador (lê no máximo uma linha)
+     */
+    public boolean existeAlgum() {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return !em.createQuery("SELECT a.id FROM Administrador a", Long.class)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Administrador> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Administrador.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Administrador> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Administrador.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Administrador adm) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +110,28 @@ public class AdministradorDAO {
         }
     }
 
+    /**
+     * Persiste os administradores em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Administrador> administradores) {
+        return ProcessadorLote.executar(administradores.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Administrador> administradores) {
+        return ProcessadorLote.executar(administradores, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os administradores em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Administrador> administradores) {
+        return ProcessadorLote.executar(administradores.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Administrador> administradores) {
+        return ProcessadorLote.executar(administradores, EntityManager::merge);
+    }
+
     public void remover(Administrador adm) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
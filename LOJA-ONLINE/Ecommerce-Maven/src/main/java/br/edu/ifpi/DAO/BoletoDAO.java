@@ -3,8 +3,11 @@ package br.edu.ifpi.DAO;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.Boleto;
+import br.edu.ifpi.Model.StatusPagamento;
 import br.edu.ifpi.JPAUtil;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class BoletoDAO {
 
@@ -43,6 +46,38 @@ public class BoletoDAO {
         }
     }
 
+    /**
+     * Boletos ainda pendentes que vencem até a data (inclusive), do mais antigo para o mais novo
+     * Varredura de vencidos: buscarVencendoAte(LocalDate.now().minusDays(1)); usa o índice idx_boleto_vencimento
+     */
+    public List<Boleto> buscarVencendoAte(LocalDate data) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                "SELECT b FROM Boleto b WHERE b.vencimento <= :data AND b.statusPagamento = :pendente " +
+                "ORDER BY b.vencimento, b.id", Boleto.class)
+                .setParameter("data", data)
+                .setParameter("pendente", StatusPagamento.PENDENTE)
+                .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Boleto> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Boleto.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Boleto> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Boleto.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Boleto boleto) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +95,28 @@ public class BoletoDAO {
         }
     }
 
+    /**
+     * Persiste os boletos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Boleto> boletos) {
+        return ProcessadorLote.executar(boletos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Boleto> boletos) {
+        return ProcessadorLote.executar(boletos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os boletos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Boleto> boletos) {
+        return ProcessadorLote.executar(boletos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Boleto> boletos) {
+        return ProcessadorLote.executar(boletos, EntityManager::merge);
+    }
+
     public void remover(Boleto boleto) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
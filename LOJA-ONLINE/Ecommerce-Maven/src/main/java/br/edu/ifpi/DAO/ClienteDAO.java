@@ -2,11 +2,21 @@ package br.edu.ifpi.DAO;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
 import br.edu.ifpi.Model.Cliente;
+import br.edu.ifpi.Model.Historico;
+import br.edu.ifpi.Model.Pedido;
+import br.edu.ifpi.DTO.ClienteResumo;
 import br.edu.ifpi.JPAUtil;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class ClienteDAO {
+    /** Histórico com os pedidos e o pagamento de cada um */
+    public static final String GRAFO_HISTORICO = "cliente-historico";
 
     public void salvar(Cliente cliente) {
         EntityManager em = JPAUtil.getEntityManager();
@@ -25,24 +35,184 @@ public class ClienteDAO {
         }
     }
 
+    /**
+     * Cadastra um cliente novo. Se o CPF ou o email for de um cliente removido, aquele
+     * cadastro é reativado com os dados novos (mesmo id, pedidos antigos preservados),
+     * já que email e CPF continuam únicos mesmo depois da remoção lógica
+     * @return o cliente gravado: o próprio parâmetro, ou o cadastro reativado
+     * @throws IllegalStateException se CPF e email forem de clientes removidos diferentes
+     * @throws jakarta.persistence.PersistenceException se o CPF ou email já for de um usuário ativo
+     */
+    public Cliente cadastrar(Cliente cliente) {
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            List<Cliente> removidos = em.createQuery(
+                    "SELECT c FROM Cliente c WHERE c.ativo = false AND (c.cpf = :cpf OR lower(c.email) = :email)", Cliente.class)
+                .setParameter("cpf", cliente.getCpf())
+                .setParameter("email", cliente.getEmail().toLowerCase(Locale.ROOT))
+                .getResultList();
+            if (removidos.size() > 1) {
+                throw new IllegalStateException("CPF e email pertencem a clientes removidos diferentes");
+            }
+            Cliente gravado = cliente;
+            if (removidos.isEmpty()) {
+                em.persist(cliente);
+            } else {
+                gravado = removidos.get(0);
+                gravado.setNome(cliente.getNome());
+                gravado.setEmail(cliente.getEmail());
+                gravado.setSenha(cliente.getSenha());
+                gravado.setCpf(cliente.getCpf());
+                gravado.setEndereco(cliente.getEndereco());
+                gravado.reativar();
+            }
+            transaction.commit();
+            return gravado;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca um cliente ativo (null se não existe ou foi removido)
+     */
     public Cliente buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.find(Cliente.class, id);
+            return ativo(em.find(Cliente.class, id));
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca o cliente carregando as associações do grafo nomeado na mesma consulta
+     */
+    public Cliente buscarPorId(Long id, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return ativo(em.find(Cliente.class, id, GrafoEntidade.dicas(em, grafo)));
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Busca o cliente com o histórico de pedidos pronto para exibição
+     * O grafo traz histórico, pedidos e pagamentos; os itens dos pedidos vêm numa
+     * segunda consulta, pois duas coleções no mesmo JOIN multiplicariam as linhas
+     */
+    public Cliente buscarComHistorico(Long id) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return buscarComHistorico(em, id, false);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Como buscarComHistorico, com cliente, pedidos, itens e pagamentos
+     * carregados sem snapshot (ver ConsultaSomenteLeitura)
+     */
+    public Cliente buscarComHistoricoSomenteLeitura(Long id) {
+        return ConsultaSomenteLeitura.executar(em -> buscarComHistorico(em, id, true));
+    }
+
+    private Cliente buscarComHistorico(EntityManager em, Long id, boolean somenteLeitura) {
+        Map<String, Object> dicas = somenteLeitura
+                ? ConsultaSomenteLeitura.dicas(em, GRAFO_HISTORICO)
+                : GrafoEntidade.dicas(em, GRAFO_HISTORICO);
+        Cliente cliente = ativo(em.find(Cliente.class, id, dicas));
+        if (cliente != null && cliente.getHistorico() != null && !cliente.getHistorico().getItensPedidos().isEmpty()) {
+            TypedQuery<Pedido> itens = em.createQuery(
+                    "SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.itens WHERE p IN :pedidos", Pedido.class)
+                .setParameter("pedidos", cliente.getHistorico().getItensPedidos());
+            if (somenteLeitura) {
+                ConsultaSomenteLeitura.aplicar(itens);
+            }
+            itens.getResultList();
+        }
+        return cliente;
+    }
+
     public List<Cliente> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.createQuery("FROM Cliente", Cliente.class).getResultList();
+            return em.createQuery("FROM Cliente c WHERE c.ativo = true", Cliente.class).getResultList();
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Cliente> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Cliente.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Cliente> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Cliente.class, apos, limite, ordenarPor);
+    }
+
+    /**
+     * Página da listagem de clientes como projeção: a quantidade de pedidos
+     * é calculada com COUNT na mesma consulta, sem carregar as coleções
+     */
+    public Pagina<ClienteResumo> listarResumos(Long aposId, int limite) {
+        PaginadorKeyset.validarLimite(limite);
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ClienteResumo> query = em.createQuery(
+                "SELECT new br.edu.ifpi.DTO.ClienteResumo(c.id, c.cpf, c.nome, c.email, c.endereco, COUNT(p)) " +
+                "FROM Cliente c LEFT JOIN c.pedidos p " +
+                "WHERE c.ativo = true " +
+                (aposId != null ? "AND c.id > :aposId " : "") +
+                "GROUP BY c.id, c.cpf, c.nome, c.email, c.endereco " +
+                "ORDER BY c.id", ClienteResumo.class);
+            if (aposId != null) {
+                query.setParameter("aposId", aposId);
+            }
+            query.setMaxResults(limite + 1);
+            return PaginadorKeyset.montar(query.getResultList(), limite, ClienteResumo::id);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Remoção lógica: um UPDATE marca o cliente como inativo e os pedidos dele continuam no banco
+     * @return true se o cliente existia e estava ativo
+     */
+    public boolean desativar(Long id) {
+        return UnidadeDeTrabalho.executar(em -> desativar(em, id));
+    }
+
+    public boolean desativar(EntityManager em, Long id) {
+        if (SqlDireto.executar(em,
+                "UPDATE cliente SET ativo = false, removido_em = ? WHERE id = ? AND ativo = true",
+                LocalDateTime.now(), id) == 0) {
+            return false;
+        }
+        SqlDireto.removerDoCacheAposCommit(em, Cliente.class, id);
+        return true;
+    }
+
+    private static Cliente ativo(Cliente cliente) {
+        return cliente != null && cliente.isAtivo() ? cliente : null;
+    }
+
     public void atualizar(Cliente cliente) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +230,55 @@ public class ClienteDAO {
         }
     }
 
+    /**
+     * Persiste os clientes em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Cliente> clientes) {
+        return ProcessadorLote.executar(clientes.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Cliente> clientes) {
+        return ProcessadorLote.executar(clientes, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os clientes em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Cliente> clientes) {
+        return ProcessadorLote.executar(clientes.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Cliente> clientes) {
+        return ProcessadorLote.executar(clientes, EntityManager::merge);
+    }
+
+    /**
+     * Registra o pedido no histórico do cliente dentro de uma transação
+     * (com as associações LAZY o cliente precisa estar gerenciado para alterar as coleções)
+     */
+    public void adicionarPedidoHistorico(Long clienteId, Long numeroPedido) {
+        UnidadeDeTrabalho.executar(em -> {
+            adicionarPedidoHistorico(em, clienteId, numeroPedido);
+            return true;
+        });
+    }
+
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public void adicionarPedidoHistorico(EntityManager em, Long clienteId, Long numeroPedido) {
+        Cliente cliente = em.find(Cliente.class, clienteId);
+        Pedido pedido = em.find(Pedido.class, numeroPedido);
+        if (cliente != null && pedido != null) {
+            // Cliente.adicionarPedidoHistorico ignora pedidos que já estão em cliente.pedidos,
+            // o que sempre acontece com um pedido persistido; por isso o histórico é alterado direto
+            if (cliente.getHistorico() == null) {
+                cliente.setHistorico(new Historico());
+            }
+            cliente.getHistorico().adicionarPedido(pedido);
+        }
+    }
+
     public void remover(Cliente cliente) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
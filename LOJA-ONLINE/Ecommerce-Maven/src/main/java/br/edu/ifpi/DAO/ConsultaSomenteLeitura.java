@@ -0,0 +1,73 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+import br.edu.ifpi.Configuracao;
+import br.edu.ifpi.JPAUtil;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Consultas só para exibição: as entidades são carregadas como somente leitura
+ * (o Hibernate não guarda o snapshot usado pelo dirty checking, nem o percorre no flush),
+ * com fetch size maior (ecommerce.consulta.tamanho-busca) e, se
+ * ecommerce.consulta.transacao-somente-leitura estiver ligada, numa transação READ ONLY.
+ * As entidades devolvidas já estão desanexadas, como nos demais métodos dos DAOs
+ */
+class ConsultaSomenteLeitura {
+    private static final int TAMANHO_BUSCA = Configuracao.getInt("ecommerce.consulta.tamanho-busca", 500);
+    private static final boolean TRANSACAO_SOMENTE_LEITURA =
+            Configuracao.getBoolean("ecommerce.consulta.transacao-somente-leitura", false);
+
+    /**
+     * Executa a consulta num EntityManager próprio, somente leitura, e o fecha em seguida
+     */
+    static <R> R executar(Function<EntityManager, R> consulta) {
+        EntityManager em = JPAUtil.getEntityManager();
+        Session sessao = em.unwrap(Session.class);
+        sessao.setDefaultReadOnly(true);
+        EntityTransaction transaction = null;
+        try {
+            if (TRANSACAO_SOMENTE_LEITURA) {
+                transaction = em.getTransaction();
+                transaction.begin();
+                // Antes do primeiro comando: o driver abre a transação como READ ONLY.
+                // O pool restaura a conexão ao recebê-la de volta
+                sessao.doWork(conexao -> conexao.setReadOnly(true));
+            }
+            R resultado = consulta.apply(em);
+            if (transaction != null) {
+                transaction.commit();
+            }
+            return resultado;
+        } finally {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            em.close();
+        }
+    }
+
+    /** Linhas por ida ao banco (ecommerce.consulta.tamanho-busca) */
+    static int tamanhoBusca() {
+        return TAMANHO_BUSCA;
+    }
+
+    /** Dicas de somente leitura e fetch size na consulta */
+    static <Q extends Query> Q aplicar(Q query) {
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_BUSCA);
+        return query;
+    }
+
+    /** Propriedades para em.find: somente leitura e, se houver, o grafo */
+    static Map<String, Object> dicas(EntityManager em, String grafo) {
+        Map<String, Object> dicas = new HashMap<>(GrafoEntidade.dicas(em, grafo));
+        dicas.put(HibernateHints.HINT_READ_ONLY, true);
+        return dicas;
+    }
+}
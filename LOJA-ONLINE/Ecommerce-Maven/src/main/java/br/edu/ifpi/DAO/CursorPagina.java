@@ -0,0 +1,32 @@
+package br.edu.ifpi.DAO;
+
+/**
+ * Posição do último item de uma página (paginação por keyset)
+ * Guarda o valor da chave de ordenação e o id, que desempata valores repetidos
+ */
+public class CursorPagina {
+    private final Object valor;
+    private final Long id;
+
+    public CursorPagina(Object valor, Long id) {
+        this.valor = valor;
+        this.id = id;
+    }
+
+    /** Valor da chave de ordenação do último item (null quando ordenado só pelo id) */
+    public Object getValor() {
+        return valor;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPagina{" +
+                "valor=" + valor +
+                ", id=" + id +
+                '}';
+    }
+}
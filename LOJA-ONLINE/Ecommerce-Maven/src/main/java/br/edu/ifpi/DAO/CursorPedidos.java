@@ -0,0 +1,159 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import br.edu.ifpi.JPAUtil;
+import br.edu.ifpi.Model.Pedido;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Percorre pedidos por um cursor no servidor (ScrollableResults FORWARD_ONLY, com fetch size,
+ * dentro de uma transação: no PostgreSQL o driver busca as linhas aos poucos).
+ * Cliente e pagamento vêm na própria linha do cursor (JOIN FETCH); os itens com produto
+ * vêm numa consulta por bloco, e o contexto de persistência é limpo antes do bloco seguinte.
+ * A memória fica limitada a um bloco, seja qual for a quantidade de pedidos
+ */
+class CursorPedidos implements Iterator<Pedido>, AutoCloseable {
+    private final EntityManager em;
+    private final EntityTransaction transaction;
+    private final ScrollableResults<Pedido> cursor;
+    private final int tamanhoBloco;
+    private Iterator<Pedido> bloco = Collections.emptyIterator();
+    private boolean terminou;
+
+    /**
+     * O Stream segura a conexão até ser fechado (use try-with-resources)
+     */
+    static Stream<Pedido> abrir(FiltroPedido filtro, int tamanhoBloco) {
+        CursorPedidos pedidos = new CursorPedidos(filtro, tamanhoBloco);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pedidos, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(pedidos::close);
+    }
+
+    private CursorPedidos(FiltroPedido filtro, int tamanhoBloco) {
+        if (tamanhoBloco <= 0) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser maior que zero");
+        }
+        this.tamanhoBloco = tamanhoBloco;
+        this.em = JPAUtil.getEntityManager();
+        this.transaction = em.getTransaction();
+        try {
+            Session sessao = em.unwrap(Session.class);
+            sessao.setDefaultReadOnly(true);
+            // Só leitura: sem flush automático antes da consulta de itens de cada bloco
+            sessao.setHibernateFlushMode(FlushMode.MANUAL);
+            transaction.begin();
+            this.cursor = consulta(sessao, filtro).scroll(ScrollMode.FORWARD_ONLY);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private Query<Pedido> consulta(Session sessao, FiltroPedido filtro) {
+        StringBuilder jpql = new StringBuilder(
+            "SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.pagamento");
+        List<String> filtros = new ArrayList<>();
+        if (filtro.getStatus() != null) {
+            filtros.add("p.status = :status");
+        }
+        if (filtro.getClienteId() != null) {
+            filtros.add("p.cliente.id = :clienteId");
+        }
+        if (filtro.getInicio() != null) {
+            filtros.add("p.data >= :inicio");
+        }
+        if (filtro.getFim() != null) {
+            filtros.add("p.data < :fim");
+        }
+        if (!filtros.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", filtros));
+        }
+        jpql.append(" ORDER BY p.numeroPedido");
+
+        Query<Pedido> query = sessao.createQuery(jpql.toString(), Pedido.class);
+        if (filtro.getStatus() != null) {
+            query.setParameter("status", filtro.getStatus());
+        }
+        if (filtro.getClienteId() != null) {
+            query.setParameter("clienteId", filtro.getClienteId());
+        }
+        if (filtro.getInicio() != null) {
+            query.setParameter("inicio", filtro.getInicio());
+        }
+        if (filtro.getFim() != null) {
+            query.setParameter("fim", filtro.getFim());
+        }
+        query.setFetchSize(tamanhoBloco);
+        query.setReadOnly(true);
+        return query;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!bloco.hasNext() && !terminou) {
+            carregarBloco();
+        }
+        return bloco.hasNext();
+    }
+
+    @Override
+    public Pedido next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return bloco.next();
+    }
+
+    private void carregarBloco() {
+        // Pedidos do bloco anterior ficam desanexados (e livres para o GC, se quem consome não os guardou)
+        em.clear();
+        List<Pedido> pedidos = new ArrayList<>(tamanhoBloco);
+        while (pedidos.size() < tamanhoBloco && cursor.next()) {
+            pedidos.add(cursor.get());
+        }
+        if (pedidos.size() < tamanhoBloco) {
+            terminou = true;
+        }
+        if (!pedidos.isEmpty()) {
+            // Inicializa a coleção itens dos pedidos já carregados (mesmas instâncias)
+            ConsultaSomenteLeitura.aplicar(em.createQuery(
+                    "SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto " +
+                    "WHERE p IN :pedidos", Pedido.class)
+                .setParameter("pedidos", pedidos))
+                .getResultList();
+        }
+        bloco = pedidos.iterator();
+    }
+
+    /**
+     * Fecha o cursor e devolve a conexão; só houve leitura, então a transação é desfeita
+     */
+    @Override
+    public void close() {
+        try {
+            if (cursor != null) {
+                cursor.close();
+            }
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.edu.ifpi.DAO;
+
+import br.edu.ifpi.Model.StatusPedido;
+import java.time.LocalDateTime;
+
+/**
+ * Filtro de PedidoDAO.stream; campos não informados (null) não filtram
+ * Ex: new FiltroPedido().comStatus(StatusPedido.FINALIZADO).noPeriodo(inicio, fim)
+ */
+public class FiltroPedido {
+    private StatusPedido status;
+    private Long clienteId;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+    public FiltroPedido comStatus(StatusPedido status) {
+        this.status = status;
+        return this;
+    }
+
+    public FiltroPedido doCliente(Long clienteId) {
+        this.clienteId = clienteId;
+        return this;
+    }
+
+    /** Pedidos feitos em [inicio, fim); qualquer um pode ser null */
+    public FiltroPedido noPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+        return this;
+    }
+
+    public StatusPedido getStatus() { return status; }
+
+    public Long getClienteId() { return clienteId; }
+
+    public LocalDateTime getInicio() { return inicio; }
+
+    public LocalDateTime getFim() { return fim; }
+
+    @Override
+    public String toString() {
+        return "FiltroPedido{" +
+                "status=" + status +
+                ", clienteId=" + clienteId +
+                ", inicio=" + inicio +
+                ", fim=" + fim +
+                '}';
+    }
+}
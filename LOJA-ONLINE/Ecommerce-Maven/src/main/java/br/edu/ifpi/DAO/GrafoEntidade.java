@@ -0,0 +1,28 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Aplica um grafo de entidade nomeado (@NamedEntityGraph) como fetchgraph:
+ * as associações do grafo vêm na mesma consulta (JOIN) e as demais ficam LAZY
+ */
+class GrafoEntidade {
+    static final String DICA = "jakarta.persistence.fetchgraph";
+
+    /** Propriedades para em.find; vazio quando grafo é null */
+    static Map<String, Object> dicas(EntityManager em, String grafo) {
+        if (grafo == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.singletonMap(DICA, em.getEntityGraph(grafo));
+    }
+
+    static void aplicar(EntityManager em, Query query, String grafo) {
+        if (grafo != null) {
+            query.setHint(DICA, em.getEntityGraph(grafo));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.Historico;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class HistoricoDAO {
 
@@ -43,6 +44,20 @@ public class HistoricoDAO {
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Historico> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Historico.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Historico> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Historico.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Historico historico) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +75,28 @@ public class HistoricoDAO {
         }
     }
 
+    /**
+     * Persiste os históricos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Historico> historicos) {
+        return ProcessadorLote.executar(historicos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Historico> historicos) {
+        return ProcessadorLote.executar(historicos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os históricos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Historico> historicos) {
+        return ProcessadorLote.executar(historicos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Historico> historicos) {
+        return ProcessadorLote.executar(historicos, EntityManager::merge);
+    }
+
     public void remover(Historico historico) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -5,8 +5,11 @@ import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.ItemPedido;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ItemPedidoDAO {
+    /** Produto e pedido do item */
+    public static final String GRAFO_DETALHE = "item-pedido-detalhe";
 
     public void salvar(ItemPedido item) {
         EntityManager em = JPAUtil.getEntityManager();
@@ -25,6 +28,13 @@ public class ItemPedidoDAO {
         }
     }
 
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public void salvar(EntityManager em, ItemPedido item) {
+        em.persist(item);
+    }
+
     public ItemPedido buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
@@ -34,6 +44,18 @@ public class ItemPedidoDAO {
         }
     }
 
+    /**
+     * Busca o item carregando as associações do grafo nomeado na mesma consulta
+     */
+    public ItemPedido buscarPorId(Long id, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.find(ItemPedido.class, id, GrafoEntidade.dicas(em, grafo));
+        } finally {
+            em.close();
+        }
+    }
+
     public List<ItemPedido> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
@@ -43,6 +65,34 @@ public class ItemPedidoDAO {
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<ItemPedido> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(ItemPedido.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<ItemPedido> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(ItemPedido.class, apos, limite, ordenarPor);
+    }
+
+    /**
+     * Conta os itens que referenciam o produto (sem carregá-los)
+     */
+    public long contarPorProduto(Long produtoId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(i) FROM ItemPedido i WHERE i.produto.id = :produtoId", Long.class)
+                    .setParameter("produtoId", produtoId)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
     public void atualizar(ItemPedido item) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +110,42 @@ public class ItemPedidoDAO {
         }
     }
 
+    public void atualizar(EntityManager em, ItemPedido item) {
+        em.merge(item);
+    }
+
+    /**
+     * Persiste os itens em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<ItemPedido> itens) {
+        return ProcessadorLote.executar(itens.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<ItemPedido> itens) {
+        return ProcessadorLote.executar(itens, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os itens em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<ItemPedido> itens) {
+        return ProcessadorLote.executar(itens.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<ItemPedido> itens) {
+        return ProcessadorLote.executar(itens, EntityManager::merge);
+    }
+
+    /**
+     * Grava só a quantidade e o subtotal do item (um UPDATE, sem merge do item nem do pedido)
+     * @return true se o item existe
+     */
+    public boolean atualizarQuantidade(EntityManager em, ItemPedido item) {
+        // SQL direto: o subtotal é gravado em centavos, sem passar pelo conversor de Dinheiro
+        return SqlDireto.executar(em, "UPDATE item_pedido SET quantidade = ?, subtotal = ? WHERE id = ?",
+                item.getQuantidade(), item.getDouble().centavos(), item.getId()) > 0;
+    }
+
     public void remover(ItemPedido item) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -76,4 +162,8 @@ public class ItemPedidoDAO {
             em.close();
         }
     }
+
+    public void remover(EntityManager em, ItemPedido item) {
+        em.remove(em.contains(item) ? item : em.merge(item));
+    }
 }
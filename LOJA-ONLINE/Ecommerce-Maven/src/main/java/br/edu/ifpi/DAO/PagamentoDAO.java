@@ -3,8 +3,10 @@ package br.edu.ifpi.DAO;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.Pagamento;
+import br.edu.ifpi.Model.StatusPagamento;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class PagamentoDAO {
 
@@ -25,6 +27,13 @@ public class PagamentoDAO {
         }
     }
 
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public void salvar(EntityManager em, Pagamento pagamento) {
+        em.persist(pagamento);
+    }
+
     public Pagamento buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
@@ -43,6 +52,20 @@ public class PagamentoDAO {
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Pagamento> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Pagamento.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Pagamento> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Pagamento.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Pagamento pagamento) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,6 +83,45 @@ public class PagamentoDAO {
         }
     }
 
+    /**
+     * Marca o pagamento como PAGO com um único UPDATE, sem carregar o pagamento
+     * @return true se o pagamento existe e estava PENDENTE
+     */
+    public boolean marcarComoPago(Long id) {
+        return UnidadeDeTrabalho.executar(em -> marcarComoPago(em, id));
+    }
+
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public boolean marcarComoPago(EntityManager em, Long id) {
+        // SQL direto: em JPQL, Pagamento (JOINED) passaria pela estratégia de várias tabelas do Hibernate
+        return SqlDireto.executar(em, "UPDATE pagamento SET status_pagamento = ? WHERE id = ? AND status_pagamento = ?",
+                StatusPagamento.PAGO.getCodigo(), id, StatusPagamento.PENDENTE.getCodigo()) > 0;
+    }
+
+    /**
+     * Persiste os pagamentos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Pagamento> pagamentos) {
+        return ProcessadorLote.executar(pagamentos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Pagamento> pagamentos) {
+        return ProcessadorLote.executar(pagamentos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os pagamentos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Pagamento> pagamentos) {
+        return ProcessadorLote.executar(pagamentos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Pagamento> pagamentos) {
+        return ProcessadorLote.executar(pagamentos, EntityManager::merge);
+    }
+
     public void remover(Pagamento pagamento) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -76,4 +138,14 @@ public class PagamentoDAO {
             em.close();
         }
     }
+
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public void remover(EntityManager em, Long id) {
+        Pagamento pagamento = em.find(Pagamento.class, id);
+        if (pagamento != null) {
+            em.remove(pagamento);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package br.edu.ifpi.DAO;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados de listarPagina
+ * O cursor aponta para o último item e é passado na chamada seguinte
+ */
+public class Pagina<T> {
+    private final List<T> itens;
+    private final CursorPagina proximo;
+
+    public Pagina(List<T> itens, CursorPagina proximo) {
+        this.itens = itens;
+        this.proximo = proximo;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /** Cursor para buscar a próxima página, ou null se esta for a última */
+    public CursorPagina getProximo() {
+        return proximo;
+    }
+
+    public boolean temProxima() {
+        return proximo != null;
+    }
+
+    /** Id do último item, para usar como aposId na próxima chamada */
+    public Long getUltimoId() {
+        return proximo != null ? proximo.getId() : null;
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+}
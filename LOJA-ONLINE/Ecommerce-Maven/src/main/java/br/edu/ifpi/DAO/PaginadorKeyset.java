@@ -0,0 +1,198 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import br.edu.ifpi.JPAUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Paginação por keyset (seek): em vez de OFFSET, cada página começa depois
+ * do último item da anterior (WHERE chave > :ultima ORDER BY chave LIMIT n).
+ * Com índice na chave o custo por página é constante, seja qual for o tamanho da tabela
+ * Entidades com remoção lógica (atributo "ativo") só listam os registros ativos; numa listagem
+ * da superclasse (ex.: Usuario) o filtro vale para as subclasses que têm o atributo (Cliente)
+ */
+class PaginadorKeyset {
+    static final String ATIVO = "ativo";
+
+    /**
+     * @param apos       cursor do último item da página anterior (null para a primeira)
+     * @param ordenarPor atributo básico e não nulo usado como chave de ordenação;
+     *                   null ordena só pelo id. O id sempre entra como desempate
+     */
+    static <T> Pagina<T> listar(Class<T> tipo, CursorPagina apos, int limite, String ordenarPor) {
+        return listar(tipo, apos, limite, ordenarPor, null);
+    }
+
+    /**
+     * Com grafo, a página é buscada em dois passos: primeiro só as chaves (LIMIT no banco)
+     * e depois as entidades desses ids com o grafo aplicado. Assim o JOIN de coleções
+     * do grafo não obriga o Hibernate a paginar em memória
+     */
+    static <T> Pagina<T> listar(Class<T> tipo, CursorPagina apos, int limite, String ordenarPor, String grafo) {
+        validarLimite(limite);
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return listar(em, tipo, apos, limite, ordenarPor, grafo, false);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Como listar, com as entidades carregadas só para exibição (ver ConsultaSomenteLeitura)
+     */
+    static <T> Pagina<T> listarSomenteLeitura(Class<T> tipo, CursorPagina apos, int limite, String ordenarPor, String grafo) {
+        validarLimite(limite);
+        return ConsultaSomenteLeitura.executar(em -> listar(em, tipo, apos, limite, ordenarPor, grafo, true));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o limite não for positivo (também para as projeções que usam montar)
+     */
+    static void validarLimite(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+    }
+
+    private static <T> Pagina<T> listar(EntityManager em, Class<T> tipo, CursorPagina apos, int limite,
+                                        String ordenarPor, String grafo, boolean somenteLeitura) {
+        EntityType<T> entidade = em.getMetamodel().entity(tipo);
+        String id = entidade.getId(Long.class).getName();
+        if (ordenarPor != null) {
+            // Valida o nome contra o metamodelo antes de montar o JPQL
+            Attribute<? super T, ?> atributo = entidade.getSingularAttribute(ordenarPor);
+            if (atributo.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                throw new IllegalArgumentException("Não é possível ordenar por " + ordenarPor);
+            }
+        }
+
+        String chave = ordenarPor != null ? "e." + ordenarPor : "e." + id;
+        // Com grafo a primeira coluna é só o id: a entidade vem no segundo passo
+        String primeira = grafo == null ? "e" : "e." + id;
+        StringBuilder jpql = new StringBuilder("SELECT ").append(primeira).append(", ")
+                .append(chave).append(", e.").append(id)
+                .append(" FROM ").append(entidade.getName()).append(" e");
+        List<String> filtros = new ArrayList<>();
+        String ativos = filtroAtivos(em.getMetamodel(), entidade);
+        if (ativos != null) {
+            filtros.add(ativos);
+        }
+        if (apos != null) {
+            if (ordenarPor != null) {
+                filtros.add("(" + chave + " > :valor OR (" + chave + " = :valor AND e." + id + " > :id))");
+            } else {
+                filtros.add("e." + id + " > :id");
+            }
+        }
+        if (!filtros.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", filtros));
+        }
+        jpql.append(" ORDER BY ");
+        if (ordenarPor != null) {
+            jpql.append(chave).append(", ");
+        }
+        jpql.append("e.").append(id);
+
+        TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class);
+        if (apos != null) {
+            query.setParameter("id", apos.getId());
+            if (ordenarPor != null) {
+                query.setParameter("valor", apos.getValor());
+            }
+        }
+        // Busca um a mais só para saber se existe próxima página
+        query.setMaxResults(limite + 1);
+        if (somenteLeitura) {
+            ConsultaSomenteLeitura.aplicar(query);
+        }
+        List<Object[]> linhas = query.getResultList();
+
+        List<T> itens = new ArrayList<>();
+        CursorPagina proximo = null;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < linhas.size() && i < limite; i++) {
+            if (grafo == null) {
+                itens.add(tipo.cast(linhas.get(i)[0]));
+            } else {
+                ids.add((Long) linhas.get(i)[2]);
+            }
+        }
+        if (grafo != null && !ids.isEmpty()) {
+            TypedQuery<T> entidades = em.createQuery(
+                    "SELECT e FROM " + entidade.getName() + " e WHERE e." + id + " IN :ids", tipo);
+            entidades.setParameter("ids", ids);
+            GrafoEntidade.aplicar(em, entidades, grafo);
+            if (somenteLeitura) {
+                ConsultaSomenteLeitura.aplicar(entidades);
+            }
+            Map<Object, T> porId = new HashMap<>();
+            PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+            for (T e : entidades.getResultList()) {
+                porId.put(util.getIdentifier(e), e);
+            }
+            // Devolve na ordem da página
+            for (Long chaveId : ids) {
+                T e = porId.get(chaveId);
+                if (e != null) {
+                    itens.add(e);
+                }
+            }
+        }
+        if (linhas.size() > limite) {
+            Object[] ultima = linhas.get(limite - 1);
+            proximo = new CursorPagina(ordenarPor != null ? ultima[1] : null, (Long) ultima[2]);
+        }
+        return new Pagina<>(itens, proximo);
+    }
+
+    /**
+     * Condição JPQL (alias e) que deixa de fora os registros removidos, ou null se a entidade
+     * e suas subclasses não têm remoção lógica
+     */
+    private static String filtroAtivos(Metamodel metamodel, EntityType<?> entidade) {
+        if (temAtributo(entidade.getAttributes(), ATIVO)) {
+            return "e." + ATIVO + " = true";
+        }
+        List<String> condicoes = new ArrayList<>();
+        for (EntityType<?> subclasse : metamodel.getEntities()) {
+            if (subclasse != entidade && entidade.getJavaType().isAssignableFrom(subclasse.getJavaType())
+                    && temAtributo(subclasse.getDeclaredAttributes(), ATIVO)) {
+                condicoes.add("(TYPE(e) <> " + subclasse.getName() + " OR TREAT(e AS " + subclasse.getName() + ")."
+                        + ATIVO + " = true)");
+            }
+        }
+        return condicoes.isEmpty() ? null : String.join(" AND ", condicoes);
+    }
+
+    private static boolean temAtributo(Set<? extends Attribute<?, ?>> atributos, String nome) {
+        for (Attribute<?, ?> atributo : atributos) {
+            if (atributo.getName().equals(nome)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta já limitada a limite + 1 linhas
+     * (usado pelas projeções, que têm seu próprio JPQL)
+     */
+    static <T> Pagina<T> montar(List<T> linhas, int limite, Function<T, Long> id) {
+        if (linhas.size() <= limite) {
+            return new Pagina<>(linhas, null);
+        }
+        List<T> itens = new ArrayList<>(linhas.subList(0, limite));
+        return new Pagina<>(itens, new CursorPagina(null, id.apply(itens.get(limite - 1))));
+    }
+}
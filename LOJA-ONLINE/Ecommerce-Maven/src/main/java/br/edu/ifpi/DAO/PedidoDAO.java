@@ -2,11 +2,24 @@ package br.edu.ifpi.DAO;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.NoResultException;
+import br.edu.ifpi.Model.Cliente;
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.Historico;
+import br.edu.ifpi.Model.Pagamento;
 import br.edu.ifpi.Model.Pedido;
+import br.edu.ifpi.Model.StatusPedido;
+import br.edu.ifpi.DTO.PedidoResumo;
 import br.edu.ifpi.JPAUtil;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class PedidoDAO {
+    /** Cliente, pagamento e itens com produto: tudo que getTotal e finalizarPedido usam */
+    public static final String GRAFO_DETALHE = "pedido-detalhe";
 
     public void salvar(Pedido pedido) {
         EntityManager em = JPAUtil.getEntityManager();
@@ -34,6 +47,26 @@ public class PedidoDAO {
         }
     }
 
+    /**
+     * Busca o pedido carregando as associações do grafo nomeado na mesma consulta
+     */
+    public Pedido buscarPorId(Long id, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.find(Pedido.class, id, GrafoEntidade.dicas(em, grafo));
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Como buscarPorId(id, grafo), só para exibição: pedido e associações
+     * carregados sem snapshot (ver ConsultaSomenteLeitura)
+     */
+    public Pedido buscarPorIdSomenteLeitura(Long id, String grafo) {
+        return ConsultaSomenteLeitura.executar(em -> em.find(Pedido.class, id, ConsultaSomenteLeitura.dicas(em, grafo)));
+    }
+
     public List<Pedido> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
@@ -43,6 +76,226 @@ public class PedidoDAO {
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Pedido> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Pedido.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Pedido> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Pedido.class, apos, limite, ordenarPor);
+    }
+
+    /**
+     * Página da listagem de pedidos como projeção: quantidade de itens e total
+     * vêm na mesma consulta, sem carregar itens; o total é a coluna valor_total do pedido
+     */
+    public Pagina<PedidoResumo> listarResumos(Long aposId, int limite) {
+        return listarResumos(null, aposId, limite);
+    }
+
+    /**
+     * Como listarResumos(aposId, limite), só com os pedidos do cliente (índice idx_pedido_cliente)
+     */
+    public Pagina<PedidoResumo> listarResumosPorCliente(Long clienteId, Long aposId, int limite) {
+        return listarResumos(clienteId, aposId, limite);
+    }
+
+    private Pagina<PedidoResumo> listarResumos(Long clienteId, Long aposId, int limite) {
+        PaginadorKeyset.validarLimite(limite);
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            List<String> condicoes = new ArrayList<>();
+            if (clienteId != null) {
+                condicoes.add("p.cliente.id = :clienteId");
+            }
+            if (aposId != null) {
+                condicoes.add("p.numeroPedido > :aposId");
+            }
+            TypedQuery<PedidoResumo> query = em.createQuery(
+                "SELECT new br.edu.ifpi.DTO.PedidoResumo(p.numeroPedido, c.nome, p.data, p.status, " +
+                "COUNT(i), p.valorTotal) " +
+                "FROM Pedido p LEFT JOIN p.cliente c LEFT JOIN p.itens i " +
+                (condicoes.isEmpty() ? "" : "WHERE " + String.join(" AND ", condicoes) + " ") +
+                "GROUP BY p.numeroPedido, c.nome, p.data, p.status, p.valorTotal " +
+                "ORDER BY p.numeroPedido", PedidoResumo.class);
+            if (clienteId != null) {
+                query.setParameter("clienteId", clienteId);
+            }
+            if (aposId != null) {
+                query.setParameter("aposId", aposId);
+            }
+            query.setMaxResults(limite + 1);
+            return PaginadorKeyset.montar(query.getResultList(), limite, PedidoResumo::numero);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca os pedidos com valor total entre minimo e maximo (qualquer um pode ser null),
+     * do maior para o menor, pelo índice idx_pedido_valor_total
+     */
+    public List<Pedido> buscarPorFaixaDeValor(Dinheiro minimo, Dinheiro maximo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            StringBuilder jpql = new StringBuilder("SELECT p FROM Pedido p");
+            if (minimo != null || maximo != null) {
+                jpql.append(" WHERE ");
+                if (minimo != null) {
+                    jpql.append("p.valorTotal >= :minimo");
+                }
+                if (minimo != null && maximo != null) {
+                    jpql.append(" AND ");
+                }
+                if (maximo != null) {
+                    jpql.append("p.valorTotal <= :maximo");
+                }
+            }
+            jpql.append(" ORDER BY p.valorTotal DESC, p.numeroPedido");
+            TypedQuery<Pedido> query = em.createQuery(jpql.toString(), Pedido.class);
+            if (minimo != null) {
+                query.setParameter("minimo", minimo);
+            }
+            if (maximo != null) {
+                query.setParameter("maximo", maximo);
+            }
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca os pedidos do cliente (índice idx_pedido_cliente)
+     */
+    public List<Pedido> buscarPorCliente(Long clienteId) {
+        return buscarPorCliente(clienteId, null);
+    }
+
+    public List<Pedido> buscarPorCliente(Long clienteId, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Pedido> query = em.createQuery("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId", Pedido.class);
+            query.setParameter("clienteId", clienteId);
+            GrafoEntidade.aplicar(em, query, grafo);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Quantidade de pedidos do cliente, contada só no índice idx_pedido_cliente
+     */
+    public long contarPorCliente(Long clienteId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(p) FROM Pedido p WHERE p.cliente.id = :clienteId", Long.class)
+                    .setParameter("clienteId", clienteId)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca os pedidos com o status, em ordem de número (índice idx_pedido_status)
+     */
+    public List<Pedido> buscarPorStatus(StatusPedido status) {
+        return buscarPorStatus(status, null);
+    }
+
+    public List<Pedido> buscarPorStatus(StatusPedido status, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Pedido> query = em.createQuery(
+                "SELECT p FROM Pedido p WHERE p.status = :status ORDER BY p.numeroPedido", Pedido.class);
+            query.setParameter("status", status);
+            GrafoEntidade.aplicar(em, query, grafo);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Quantidade de pedidos com o status, contada só no índice idx_pedido_status
+     */
+    public long contarPorStatus(StatusPedido status) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(p) FROM Pedido p WHERE p.status = :status", Long.class)
+                    .setParameter("status", status)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Busca os pedidos feitos em [inicio, fim), em ordem de data (faixa no índice idx_pedido_data)
+     */
+    public List<Pedido> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return buscarPorPeriodo(inicio, fim, null);
+    }
+
+    public List<Pedido> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Pedido> query = em.createQuery(
+                "SELECT p FROM Pedido p WHERE p.data >= :inicio AND p.data < :fim " +
+                "ORDER BY p.data, p.numeroPedido", Pedido.class);
+            query.setParameter("inicio", inicio);
+            query.setParameter("fim", fim);
+            GrafoEntidade.aplicar(em, query, grafo);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Pedidos do filtro em ordem de número, com cliente, pagamento e itens (com produto), lidos por
+     * cursor no servidor em blocos de ecommerce.consulta.tamanho-busca: a memória usada não depende
+     * da quantidade de pedidos (ver CursorPedidos). Os pedidos são somente leitura e saem desanexados
+     * a cada bloco; o Stream segura uma conexão até ser fechado, então use try-with-resources
+     */
+    public Stream<Pedido> stream(FiltroPedido filtro) {
+        return CursorPedidos.abrir(filtro, ConsultaSomenteLeitura.tamanhoBusca());
+    }
+
+    /**
+     * Busca o pedido dono do pagamento (pagamento_id é unique e indexado)
+     * Retorna null se o pagamento não estiver associado a nenhum pedido
+     */
+    public Pedido buscarPorPagamento(Long pagamentoId) {
+        return buscarPorPagamento(pagamentoId, null);
+    }
+
+    public Pedido buscarPorPagamento(Long pagamentoId, String grafo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Pedido> query = em.createQuery("SELECT p FROM Pedido p WHERE p.pagamento.id = :pagamentoId", Pedido.class);
+            query.setParameter("pagamentoId", pagamentoId);
+            GrafoEntidade.aplicar(em, query, grafo);
+            return query.getSingleResult();
+        } catch (NoResultException e) {
+            return null;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Merge do pedido inteiro: grava valor_total, items_pedido e status da cópia recebida,
+     * desfazendo o que outras sessões alteraram depois que ela foi lida. Para mudar uma
+     * coluna use atualizarStatus, associarPagamento, desvincularPagamento ou alterarCliente
+     */
     public void atualizar(Pedido pedido) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,12 +313,150 @@ public class PedidoDAO {
         }
     }
 
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public void atualizar(EntityManager em, Pedido pedido) {
+        em.merge(pedido);
+    }
+
+    /**
+     * Soma ao pedido a diferença causada por um item adicionado, removido ou com quantidade alterada
+     * O UPDATE é relativo (valor_total = valor_total + ?): duas sessões mexendo nos itens do mesmo
+     * pedido não sobrescrevem o total uma da outra, como no merge do pedido inteiro
+     * @param diferencaItens Itens a somar ao contador (negativo na remoção)
+     * @param diferencaCentavos Centavos a somar ao total (negativo para subtrair)
+     * @return true se o pedido existe
+     */
+    public boolean ajustarTotais(EntityManager em, Long numeroPedido, int diferencaItens, long diferencaCentavos) {
+        return SqlDireto.executar(em, "UPDATE pedido SET valor_total = valor_total + ?, " +
+                "items_pedido = COALESCE(items_pedido, 0) + ? WHERE numeroPedido = ?",
+                diferencaCentavos, diferencaItens, numeroPedido) > 0;
+    }
+
+    /**
+     * Recalcula valor_total a partir dos subtotais em item_pedido, no próprio banco
+     * (para corrigir pedidos cujos itens foram alterados sem passar pelo Pedido)
+     * @return true se o pedido existe
+     */
+    public boolean recalcularValorTotal(Long numeroPedido) {
+        return UnidadeDeTrabalho.executar(em -> recalcularValorTotal(em, numeroPedido));
+    }
+
+    public boolean recalcularValorTotal(EntityManager em, Long numeroPedido) {
+        // Itens persistidos antes nesta transação ainda podem estar só no contexto: a soma em SQL não os veria
+        em.flush();
+        // SQL direto: a soma é feita sobre os centavos (bigint), sem passar pelo conversor de Dinheiro
+        return SqlDireto.executar(em, "UPDATE pedido SET valor_total = " +
+                "COALESCE((SELECT SUM(i.subtotal) FROM item_pedido i WHERE i.pedido_numeroPedido = pedido.numeroPedido), 0) " +
+                "WHERE numeroPedido = ?", numeroPedido) > 0;
+    }
+
+    /**
+     * Altera só o status (um UPDATE, sem merge de itens e pagamento)
+     * A transição é conferida no próprio UPDATE (status atual tem de ser uma das origens permitidas)
+     * @return true se o pedido existe e podia passar para o novo status
+     */
+    public boolean atualizarStatus(Long numeroPedido, StatusPedido status) {
+        return UnidadeDeTrabalho.executar(em -> atualizarStatus(em, numeroPedido, status));
+    }
+
+    public boolean atualizarStatus(EntityManager em, Long numeroPedido, StatusPedido status) {
+        if (status.getOrigens().isEmpty()) {
+            return false;
+        }
+        return em.createQuery("UPDATE Pedido p SET p.status = :status " +
+                "WHERE p.numeroPedido = :numero AND p.status IN :origens")
+                .setParameter("status", status)
+                .setParameter("numero", numeroPedido)
+                .setParameter("origens", status.getOrigens())
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Associa o pagamento ao pedido alterando só pagamento_id (um UPDATE, sem merge):
+     * total, itens e status gravados por outras sessões continuam como estão
+     * @return true se o pedido existe
+     */
+    public boolean associarPagamento(Long numeroPedido, Long pagamentoId) {
+        return UnidadeDeTrabalho.executar(em -> associarPagamento(em, numeroPedido, pagamentoId));
+    }
+
+    public boolean associarPagamento(EntityManager em, Long numeroPedido, Long pagamentoId) {
+        // Um pagamento persistido nesta transação ainda pode estar só no contexto (pagamento_id é FK)
+        em.flush();
+        return em.createQuery("UPDATE Pedido p SET p.pagamento = :pagamento WHERE p.numeroPedido = :numero")
+                .setParameter("pagamento", em.getReference(Pagamento.class, pagamentoId))
+                .setParameter("numero", numeroPedido)
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Tira o pagamento do pedido (pagamento_id = NULL) com um UPDATE, sem merge
+     * @return true se o pedido existe
+     */
+    public boolean desvincularPagamento(Long numeroPedido) {
+        return UnidadeDeTrabalho.executar(em -> desvincularPagamento(em, numeroPedido));
+    }
+
+    public boolean desvincularPagamento(EntityManager em, Long numeroPedido) {
+        return em.createQuery("UPDATE Pedido p SET p.pagamento = NULL WHERE p.numeroPedido = :numero")
+                .setParameter("numero", numeroPedido)
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Troca o cliente do pedido alterando só cliente_id (um UPDATE, sem merge)
+     * @return true se o pedido existe
+     */
+    public boolean alterarCliente(Long numeroPedido, Long clienteId) {
+        return UnidadeDeTrabalho.executar(em -> alterarCliente(em, numeroPedido, clienteId));
+    }
+
+    public boolean alterarCliente(EntityManager em, Long numeroPedido, Long clienteId) {
+        return em.createQuery("UPDATE Pedido p SET p.cliente = :cliente WHERE p.numeroPedido = :numero")
+                .setParameter("cliente", em.getReference(Cliente.class, clienteId))
+                .setParameter("numero", numeroPedido)
+                .executeUpdate() > 0;
+    }
+
+    /**
+     * Persiste os pedidos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Pedido> pedidos) {
+        return ProcessadorLote.executar(pedidos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Pedido> pedidos) {
+        return ProcessadorLote.executar(pedidos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os pedidos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Pedido> pedidos) {
+        return ProcessadorLote.executar(pedidos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Pedido> pedidos) {
+        return ProcessadorLote.executar(pedidos, EntityManager::merge);
+    }
+
     public void remover(Pedido pedido) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
         try {
             transaction.begin();
-            em.remove(em.contains(pedido) ? pedido : em.merge(pedido));
+            Pedido gerenciado = em.contains(pedido) ? pedido : em.merge(pedido);
+            // Tira o pedido dos históricos antes (historico_pedido referencia o pedido)
+            List<Historico> historicos = em.createQuery(
+                    "SELECT h FROM Historico h JOIN h.itensPedidos p WHERE p = :pedido", Historico.class)
+                    .setParameter("pedido", gerenciado)
+                    .getResultList();
+            for (Historico historico : historicos) {
+                historico.removerPedido(gerenciado);
+            }
+            em.remove(gerenciado);
             transaction.commit();
         } catch (Exception e) {
             if (transaction.isActive()) {
@@ -76,4 +467,47 @@ public class PedidoDAO {
             em.close();
         }
     }
+
+    /**
+     * Remove todos os pedidos do cliente com comandos em massa, numa transação:
+     * a quantidade de idas ao banco não depende de quantos pedidos e itens o cliente tem
+     * @return quantidade de pedidos removidos, ou -1 se falhou
+     */
+    public int removerPorCliente(Long clienteId) {
+        int[] removidos = {-1};
+        return UnidadeDeTrabalho.executar(em -> {
+            removidos[0] = removerPorCliente(em, clienteId);
+            return true;
+        }) ? removidos[0] : -1;
+    }
+
+    /**
+     * Versão para UnidadeDeTrabalho. DELETE em massa não passa pelo contexto de persistência:
+     * pedidos e itens já carregados neste EntityManager ficam desatualizados, então chame antes de carregá-los
+     */
+    public int removerPorCliente(EntityManager em, Long clienteId) {
+        // Pagamentos saem por cascata no em.remove; no DELETE em massa são removidos à parte,
+        // depois dos pedidos (pedido.pagamento_id referencia pagamento)
+        List<Long> pagamentos = em.createQuery(
+                "SELECT p.pagamento.id FROM Pedido p WHERE p.cliente.id = :clienteId AND p.pagamento IS NOT NULL", Long.class)
+                .setParameter("clienteId", clienteId)
+                .getResultList();
+
+        // historico_pedido é tabela de junção (sem entidade), por isso em SQL; vale também para históricos de outros clientes
+        SqlDireto.executar(em,
+            "DELETE FROM historico_pedido WHERE itensPedidos_numeroPedido IN (SELECT numeroPedido FROM pedido WHERE cliente_id = ?)",
+            clienteId);
+        em.createQuery("DELETE FROM ItemPedido i WHERE i.pedido IN (SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId)")
+                .setParameter("clienteId", clienteId)
+                .executeUpdate();
+        int removidos = em.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId)
+                .executeUpdate();
+        if (!pagamentos.isEmpty()) {
+            em.createQuery("DELETE FROM Pagamento pg WHERE pg.id IN :ids")
+                    .setParameter("ids", pagamentos)
+                    .executeUpdate();
+        }
+        return removidos;
+    }
 }
@@ -0,0 +1,84 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import br.edu.ifpi.Configuracao;
+import br.edu.ifpi.JPAUtil;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Executa uma operação de escrita sobre muitos itens em lotes de N,
+ * com uma transação por lote e flush + clear entre os lotes.
+ * A memória fica limitada ao tamanho do lote e os INSERTs/UPDATEs
+ * saem agrupados em lotes JDBC (hibernate.jdbc.batch_size)
+ */
+class ProcessadorLote {
+
+    static int tamanhoPadrao() {
+        return Configuracao.getInt("ecommerce.jdbc.tamanho-lote", 50);
+    }
+
+    static <T> List<ResultadoLote> executar(Iterator<T> itens, BiConsumer<EntityManager, T> operacao) {
+        return executar(itens, tamanhoPadrao(), operacao);
+    }
+
+    /** Consome e fecha o stream (que pode estar ligado a um arquivo ou cursor) */
+    static <T> List<ResultadoLote> executar(Stream<T> itens, BiConsumer<EntityManager, T> operacao) {
+        try (itens) {
+            return executar(itens.iterator(), tamanhoPadrao(), operacao);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException se tamanhoLote não for positivo
+     */
+    static <T> List<ResultadoLote> executar(Iterator<T> itens, int tamanhoLote,
+                                            BiConsumer<EntityManager, T> operacao) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que zero: " + tamanhoLote);
+        }
+        List<ResultadoLote> resultados = new ArrayList<>();
+        EntityManager em = JPAUtil.getEntityManager();
+        int processados = 0;
+        try {
+            while (itens.hasNext()) {
+                int inicio = processados;
+                int quantidade = 0;
+                EntityTransaction transaction = em.getTransaction();
+                try {
+                    transaction.begin();
+                    while (quantidade < tamanhoLote && itens.hasNext()) {
+                        T item = itens.next();
+                        quantidade++;
+                        operacao.accept(em, item);
+                    }
+                    em.flush();
+                    transaction.commit();
+                    em.clear();
+                    resultados.add(new ResultadoLote(resultados.size() + 1, inicio, quantidade, true, null));
+                } catch (Exception e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    // O lote inteiro foi desfeito: pula o restante dele para manter os limites dos lotes
+                    while (quantidade < tamanhoLote && itens.hasNext()) {
+                        itens.next();
+                        quantidade++;
+                    }
+                    resultados.add(new ResultadoLote(resultados.size() + 1, inicio, quantidade, false, e.getMessage()));
+                    // Após uma falha o EntityManager não deve ser reaproveitado
+                    em.close();
+                    em = JPAUtil.getEntityManager();
+                }
+                processados += quantidade;
+            }
+        } finally {
+            em.close();
+        }
+        return resultados;
+    }
+}
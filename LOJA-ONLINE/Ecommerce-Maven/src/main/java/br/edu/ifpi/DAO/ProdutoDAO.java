@@ -2,9 +2,13 @@ package br.edu.ifpi.DAO;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import br.edu.ifpi.Model.Dinheiro;
 import br.edu.ifpi.Model.Produto;
 import br.edu.ifpi.JPAUtil;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ProdutoDAO {
 
@@ -25,10 +29,14 @@ public class ProdutoDAO {
         }
     }
 
+    /**
+     * Busca um produto ativo (null se não existe ou foi removido)
+     */
     public Produto buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.find(Produto.class, id);
+            Produto produto = em.find(Produto.class, id);
+            return produto != null && produto.isAtivo() ? produto : null;
         } finally {
             em.close();
         }
@@ -37,12 +45,26 @@ public class ProdutoDAO {
     public List<Produto> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.createQuery("FROM Produto", Produto.class).getResultList();
+            return em.createQuery("FROM Produto p WHERE p.ativo = true", Produto.class).getResultList();
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Produto> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Produto.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Produto> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Produto.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Produto produto) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,20 +82,97 @@ public class ProdutoDAO {
         }
     }
 
-    public void remover(Produto produto) {
-        EntityManager em = JPAUtil.getEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        try {
-            transaction.begin();
-            em.remove(em.contains(produto) ? produto : em.merge(produto));
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-        } finally {
-            em.close();
+    /**
+     * Altera só o preço (um UPDATE, sem carregar nem fazer merge do produto)
+     * A versão é incrementada junto, para um merge com a cópia antiga falhar
+     * @return true se o produto existe
+     */
+    public boolean atualizarPreco(Long id, Dinheiro preco) {
+        return UnidadeDeTrabalho.executar(em -> atualizarPreco(em, id, preco));
+    }
+
+    /**
+     * Versão para UnidadeDeTrabalho: usa o EntityManager e a transação de quem chama
+     */
+    public boolean atualizarPreco(EntityManager em, Long id, Dinheiro preco) {
+        // SQL direto: em JPQL, Produto (JOINED) passaria pela estratégia de várias tabelas do Hibernate
+        if (SqlDireto.executar(em, "UPDATE produto SET preco = ?, versao = versao + 1 WHERE id = ?", preco.centavos(), id) == 0) {
+            return false;
+        }
+        SqlDireto.removerDoCacheAposCommit(em, Produto.class, id);
+        return true;
+    }
+
+    /**
+     * Altera nome, descrição e peso num único UPDATE só com as colunas informadas
+     * (null mantém o valor atual), sem carregar nem fazer merge do produto
+     * @return true se o produto existe (ou se não havia nada a alterar)
+     */
+    public boolean atualizarDados(EntityManager em, Long id, String nome, String descricao, Double peso) {
+        List<String> colunas = new ArrayList<>();
+        List<Object> parametros = new ArrayList<>();
+        if (nome != null) {
+            colunas.add("nome = ?");
+            parametros.add(nome);
+        }
+        if (descricao != null) {
+            colunas.add("descricao = ?");
+            parametros.add(descricao);
+        }
+        if (peso != null) {
+            colunas.add("peso = ?");
+            parametros.add(peso);
+        }
+        if (colunas.isEmpty()) {
+            return true;
         }
+        parametros.add(id);
+        if (SqlDireto.executar(em, "UPDATE produto SET " + String.join(", ", colunas) +
+                ", versao = versao + 1 WHERE id = ?", parametros.toArray()) == 0) {
+            return false;
+        }
+        SqlDireto.removerDoCacheAposCommit(em, Produto.class, id);
+        return true;
+    }
+
+    /**
+     * Remoção lógica: um UPDATE marca o produto como inativo. Itens de pedidos
+     * antigos continuam apontando para ele, então o histórico não é reescrito
+     * @return true se o produto existia e estava ativo
+     */
+    public boolean desativar(Long id) {
+        return UnidadeDeTrabalho.executar(em -> desativar(em, id));
+    }
+
+    public boolean desativar(EntityManager em, Long id) {
+        if (SqlDireto.executar(em,
+                "UPDATE produto SET ativo = false, removido_em = ?, versao = versao + 1 WHERE id = ? AND ativo = true",
+                LocalDateTime.now(), id) == 0) {
+            return false;
+        }
+        SqlDireto.removerDoCacheAposCommit(em, Produto.class, id);
+        return true;
+    }
+
+    /**
+     * Persiste os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Produto> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Produto> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Produto> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Produto> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::merge);
     }
 }
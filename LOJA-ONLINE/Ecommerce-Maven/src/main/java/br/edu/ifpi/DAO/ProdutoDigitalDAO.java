@@ -5,6 +5,7 @@ import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.ProdutoDigital;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ProdutoDigitalDAO {
 
@@ -25,10 +26,14 @@ public class ProdutoDigitalDAO {
         }
     }
 
+    /**
+     * Busca um produto ativo (null se não existe ou foi removido)
+     */
     public ProdutoDigital buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.find(ProdutoDigital.class, id);
+            ProdutoDigital produto = em.find(ProdutoDigital.class, id);
+            return produto != null && produto.isAtivo() ? produto : null;
         } finally {
             em.close();
         }
@@ -37,12 +42,33 @@ public class ProdutoDigitalDAO {
     public List<ProdutoDigital> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.createQuery("FROM ProdutoDigital", ProdutoDigital.class).getResultList();
+            return em.createQuery("FROM ProdutoDigital p WHERE p.ativo = true", ProdutoDigital.class).getResultList();
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<ProdutoDigital> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(ProdutoDigital.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<ProdutoDigital> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(ProdutoDigital.class, apos, limite, ordenarPor);
+    }
+
+    /**
+     * Como listarPagina(aposId, limite), só para exibição (ver ConsultaSomenteLeitura)
+     */
+    public Pagina<ProdutoDigital> listarPaginaSomenteLeitura(Long aposId, int limite) {
+        return PaginadorKeyset.listarSomenteLeitura(ProdutoDigital.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null, null);
+    }
+
     public void atualizar(ProdutoDigital produto) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,20 +86,39 @@ public class ProdutoDigitalDAO {
         }
     }
 
-    public void remover(ProdutoDigital produto) {
-        EntityManager em = JPAUtil.getEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        try {
-            transaction.begin();
-            em.remove(em.contains(produto) ? produto : em.merge(produto));
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-        } finally {
-            em.close();
+    /**
+     * Altera só a URL de download (um UPDATE, sem carregar nem fazer merge do produto)
+     * A versão é incrementada junto, como em ProdutoDAO.atualizarPreco
+     * @return true se o produto existe
+     */
+    public boolean atualizarUrl(EntityManager em, Long id, String urlDownload) {
+        if (SqlDireto.executar(em, "UPDATE produto_digital SET url_download = ? WHERE id = ?", urlDownload, id) == 0) {
+            return false;
         }
+        SqlDireto.executar(em, "UPDATE produto SET versao = versao + 1 WHERE id = ?", id);
+        SqlDireto.removerDoCacheAposCommit(em, ProdutoDigital.class, id);
+        return true;
+    }
+
+    /**
+     * Persiste os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<ProdutoDigital> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<ProdutoDigital> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<ProdutoDigital> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<ProdutoDigital> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::merge);
     }
 }
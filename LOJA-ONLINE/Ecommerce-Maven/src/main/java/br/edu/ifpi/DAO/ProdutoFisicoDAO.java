@@ -5,6 +5,7 @@ import jakarta.persistence.EntityTransaction;
 import br.edu.ifpi.Model.ProdutoFisico;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ProdutoFisicoDAO {
 
@@ -25,10 +26,14 @@ public class ProdutoFisicoDAO {
         }
     }
 
+    /**
+     * Busca um produto ativo (null se não existe ou foi removido)
+     */
     public ProdutoFisico buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.find(ProdutoFisico.class, id);
+            ProdutoFisico produto = em.find(ProdutoFisico.class, id);
+            return produto != null && produto.isAtivo() ? produto : null;
         } finally {
             em.close();
         }
@@ -37,12 +42,33 @@ public class ProdutoFisicoDAO {
     public List<ProdutoFisico> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.createQuery("FROM ProdutoFisico", ProdutoFisico.class).getResultList();
+            return em.createQuery("FROM ProdutoFisico p WHERE p.ativo = true", ProdutoFisico.class).getResultList();
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<ProdutoFisico> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(ProdutoFisico.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<ProdutoFisico> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(ProdutoFisico.class, apos, limite, ordenarPor);
+    }
+
+    /**
+     * Como listarPagina(aposId, limite), só para exibição (ver ConsultaSomenteLeitura)
+     */
+    public Pagina<ProdutoFisico> listarPaginaSomenteLeitura(Long aposId, int limite) {
+        return PaginadorKeyset.listarSomenteLeitura(ProdutoFisico.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null, null);
+    }
+
     public void atualizar(ProdutoFisico produto) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -60,20 +86,70 @@ public class ProdutoFisicoDAO {
         }
     }
 
-    public void remover(ProdutoFisico produto) {
-        EntityManager em = JPAUtil.getEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        try {
-            transaction.begin();
-            em.remove(em.contains(produto) ? produto : em.merge(produto));
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            e.printStackTrace();
-        } finally {
-            em.close();
+    /**
+     * Baixa o estoque numa única instrução condicional, sem ler o produto antes:
+     * só altera se houver estoque suficiente, então duas vendas simultâneas não vendem além do disponível
+     * @return true se baixou; false se o estoque era insuficiente (ou o produto não existe)
+     */
+    public boolean baixarEstoque(Long id, int quantidade) {
+        return UnidadeDeTrabalho.executar(em -> baixarEstoque(em, id, quantidade));
+    }
+
+    /**
+     * Mesma baixa dentro de uma UnidadeDeTrabalho (usa o EntityManager e a transação de quem chama)
+     */
+    public boolean baixarEstoque(EntityManager em, Long id, int quantidade) {
+        return alterarEstoque(em, id,
+            "UPDATE produto_fisico SET estoque = estoque - ? WHERE id = ? AND estoque >= ?",
+            quantidade, id, quantidade);
+    }
+
+    /**
+     * Devolve quantidade ao estoque (item removido ou reduzido no pedido)
+     * @return true se o produto existe e foi atualizado
+     */
+    public boolean devolverEstoque(Long id, int quantidade) {
+        return UnidadeDeTrabalho.executar(em -> devolverEstoque(em, id, quantidade));
+    }
+
+    public boolean devolverEstoque(EntityManager em, Long id, int quantidade) {
+        return alterarEstoque(em, id,
+            "UPDATE produto_fisico SET estoque = COALESCE(estoque, 0) + ? WHERE id = ?",
+            quantidade, id);
+    }
+
+    /**
+     * Executa o UPDATE de estoque e, se alterou a linha, incrementa a versão do produto
+     * na mesma transação (assim um merge com a versão antiga falha em vez de desfazer a baixa)
+     */
+    private boolean alterarEstoque(EntityManager em, Long id, String sql, Object... parametros) {
+        if (SqlDireto.executar(em, sql, parametros) == 0) {
+            return false;
         }
+        SqlDireto.executar(em, "UPDATE produto SET versao = versao + 1 WHERE id = ?", id);
+        SqlDireto.removerDoCacheAposCommit(em, ProdutoFisico.class, id);
+        return true;
+    }
+
+    /**
+     * Persiste os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<ProdutoFisico> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<ProdutoFisico> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os produtos em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<ProdutoFisico> produtos) {
+        return ProcessadorLote.executar(produtos.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<ProdutoFisico> produtos) {
+        return ProcessadorLote.executar(produtos, EntityManager::merge);
     }
 }
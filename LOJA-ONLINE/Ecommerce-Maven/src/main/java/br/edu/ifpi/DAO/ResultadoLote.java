@@ -0,0 +1,54 @@
+package br.edu.ifpi.DAO;
+
+/**
+ * Resultado de um lote processado por salvarTodos/atualizarTodos
+ * Cada lote roda em sua própria transação: se falhar, só ele é desfeito
+ */
+public class ResultadoLote {
+    private final int numero;
+    private final int inicio;
+    private final int quantidade;
+    private final boolean sucesso;
+    private final String erro;
+
+    public ResultadoLote(int numero, int inicio, int quantidade, boolean sucesso, String erro) {
+        this.numero = numero;
+        this.inicio = inicio;
+        this.quantidade = quantidade;
+        this.sucesso = sucesso;
+        this.erro = erro;
+    }
+
+    /** Número do lote, começando em 1 */
+    public int getNumero() {
+        return numero;
+    }
+
+    /** Posição (base 0) do primeiro item do lote na coleção recebida */
+    public int getInicio() {
+        return inicio;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "numero=" + numero +
+                ", inicio=" + inicio +
+                ", quantidade=" + quantidade +
+                ", sucesso=" + sucesso +
+                (erro != null ? ", erro='" + erro + '\'' : "") +
+                '}';
+    }
+}
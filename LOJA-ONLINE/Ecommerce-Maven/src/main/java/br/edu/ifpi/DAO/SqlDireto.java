@@ -0,0 +1,47 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import br.edu.ifpi.JPAUtil;
+import org.hibernate.Session;
+import java.sql.PreparedStatement;
+
+/**
+ * UPDATEs em SQL pela conexão da transação corrente, para alterar uma ou duas colunas
+ * sem carregar a entidade. Diferente de uma consulta nativa, o Hibernate não invalida
+ * a região de cache inteira; quem chama tira só a entidade alterada com removerDoCacheAposCommit
+ */
+class SqlDireto {
+
+    /** @return quantidade de linhas alteradas */
+    static int executar(EntityManager em, String sql, Object... parametros) {
+        return em.unwrap(Session.class).doReturningWork(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+                for (int i = 0; i < parametros.length; i++) {
+                    comando.setObject(i + 1, parametros[i]);
+                }
+                return comando.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Tira a entidade do cache de segundo nível quando a transação confirmar
+     * (num rollback a cópia em cache continua válida)
+     */
+    static void removerDoCacheAposCommit(EntityManager em, Class<?> classe, Object id) {
+        em.unwrap(Session.class).getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    JPAUtil.removerDoCache(classe, id);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package br.edu.ifpi.DAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import br.edu.ifpi.JPAUtil;
+import java.util.function.Predicate;
+
+/**
+ * Executa uma operação de negócio inteira com um único EntityManager e uma única transação
+ * Os DAOs têm sobrecargas que recebem o EntityManager e não abrem transação própria,
+ * então várias chamadas (estoque, item, pedido) são confirmadas ou desfeitas juntas
+ */
+public class UnidadeDeTrabalho {
+
+    /**
+     * Confirma a transação se a operação retornar true; desfaz se retornar false ou lançar exceção
+     * @return true se a transação foi confirmada
+     */
+    public static boolean executar(Predicate<EntityManager> operacao) {
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            if (!operacao.test(em)) {
+                transaction.rollback();
+                return false;
+            }
+            transaction.commit();
+            return true;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            e.printStackTrace();
+            return false;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -3,10 +3,12 @@ package br.edu.ifpi.DAO;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.NoResultException;
+import br.edu.ifpi.Model.Cliente;
 import br.edu.ifpi.Model.Usuario;
 import br.edu.ifpi.JPAUtil;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 public class UsuarioDAO {
 
@@ -30,7 +32,7 @@ public class UsuarioDAO {
     public Usuario buscarPorId(Long id) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.find(Usuario.class, id);
+            return ativo(em.find(Usuario.class, id));
         } finally {
             em.close();
         }
@@ -39,11 +41,12 @@ public class UsuarioDAO {
     public Usuario buscarPorEmail(String email) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            TypedQuery<Usuario> query = em.createQuery("SELECT u FROM Usuario u WHERE u.email = :email", Usuario.class);
-            query.setParameter("email", email);
-            return query.getSingleResult();
-        } catch (NoResultException e) {
-            return null;
+            // Mesma comparação do login (AdministradorDAO.buscarPorEmail) e do índice único em lower(email);
+            // no perfil h2 o índice não existe, então lê só a primeira linha em vez de exigir uma única
+            TypedQuery<Usuario> query = em.createQuery("SELECT u FROM Usuario u WHERE lower(u.email) = :email ORDER BY u.id", Usuario.class);
+            query.setParameter("email", email.toLowerCase(Locale.ROOT));
+            query.setMaxResults(1);
+            return query.getResultStream().findFirst().map(UsuarioDAO::ativo).orElse(null);
         } finally {
             em.close();
         }
@@ -52,12 +55,28 @@ public class UsuarioDAO {
     public List<Usuario> listarTodos() {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            return em.createQuery("FROM Usuario", Usuario.class).getResultList();
+            // Clientes removidos (remoção lógica) ficam de fora
+            return em.createQuery("SELECT u FROM Usuario u WHERE TYPE(u) <> Cliente OR TREAT(u AS Cliente).ativo = true", Usuario.class)
+                    .getResultList();
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Lista uma página ordenada pelo id, começando depois de aposId (null para a primeira página)
+     */
+    public Pagina<Usuario> listarPagina(Long aposId, int limite) {
+        return PaginadorKeyset.listar(Usuario.class, aposId != null ? new CursorPagina(null, aposId) : null, limite, null);
+    }
+
+    /**
+     * Lista uma página ordenada por ordenarPor (atributo não nulo) e pelo id como desempate
+     */
+    public Pagina<Usuario> listarPagina(CursorPagina apos, int limite, String ordenarPor) {
+        return PaginadorKeyset.listar(Usuario.class, apos, limite, ordenarPor);
+    }
+
     public void atualizar(Usuario usuario) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -75,6 +94,28 @@ public class UsuarioDAO {
         }
     }
 
+    /**
+     * Persiste os usuários em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> salvarTodos(Iterable<Usuario> usuarios) {
+        return ProcessadorLote.executar(usuarios.iterator(), EntityManager::persist);
+    }
+
+    public List<ResultadoLote> salvarTodos(Stream<Usuario> usuarios) {
+        return ProcessadorLote.executar(usuarios, EntityManager::persist);
+    }
+
+    /**
+     * Atualiza os usuários em lotes (ecommerce.jdbc.tamanho-lote), uma transação por lote
+     */
+    public List<ResultadoLote> atualizarTodos(Iterable<Usuario> usuarios) {
+        return ProcessadorLote.executar(usuarios.iterator(), EntityManager::merge);
+    }
+
+    public List<ResultadoLote> atualizarTodos(Stream<Usuario> usuarios) {
+        return ProcessadorLote.executar(usuarios, EntityManager::merge);
+    }
+
     public void remover(Usuario usuario) {
         EntityManager em = JPAUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
@@ -91,4 +132,9 @@ public class UsuarioDAO {
             em.close();
         }
     }
+
+    /** Clientes removidos (remoção lógica) contam como inexistentes */
+    private static Usuario ativo(Usuario usuario) {
+        return usuario instanceof Cliente && !((Cliente) usuario).isAtivo() ? null : usuario;
+    }
 }
@@ -0,0 +1,8 @@
+package br.edu.ifpi.DTO;
+
+/**
+ * Linha da listagem de clientes, montada direto pela consulta (projeção)
+ * qtdPedidos vem de COUNT no banco, sem carregar a coleção de pedidos
+ */
+public record ClienteResumo(Long id, String cpf, String nome, String email, String endereco, Long qtdPedidos) {
+}
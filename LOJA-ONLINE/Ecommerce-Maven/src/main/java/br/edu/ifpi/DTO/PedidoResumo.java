@@ -0,0 +1,12 @@
+package br.edu.ifpi.DTO;
+
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.StatusPedido;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da listagem de pedidos, montada direto pela consulta (projeção)
+ * qtdItens vem de COUNT no banco e total da coluna valor_total, sem carregar os itens
+ */
+public record PedidoResumo(Long numero, String clienteNome, LocalDateTime data, StatusPedido status, Long qtdItens, Dinheiro total) {
+}
@@ -0,0 +1,38 @@
+package br.edu.ifpi;
+
+/**
+ * Fotografia dos acertos e faltas de uma região do cache de segundo nível
+ */
+public class EstatisticasCache {
+    private final String regiao;
+    private final long acertos;
+    private final long faltas;
+    private final long insercoes;
+    private final long elementos;
+
+    public EstatisticasCache(String regiao, long acertos, long faltas, long insercoes, long elementos) {
+        this.regiao = regiao;
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.insercoes = insercoes;
+        this.elementos = elementos;
+    }
+
+    public String getRegiao() { return regiao; }
+    public long getAcertos() { return acertos; }
+    public long getFaltas() { return faltas; }
+    public long getInsercoes() { return insercoes; }
+    public long getElementos() { return elementos; }
+
+    /** Percentual de buscas atendidas pelo cache (0 a 100) */
+    public double getTaxaAcerto() {
+        long total = acertos + faltas;
+        return total == 0 ? 0.0 : acertos * 100.0 / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: acertos=%d, faltas=%d, taxa de acerto=%.1f%%, inserções=%d, elementos=%d",
+                regiao, acertos, faltas, getTaxaAcerto(), insercoes, elementos);
+    }
+}
@@ -0,0 +1,42 @@
+package br.edu.ifpi;
+
+/**
+ * Fotografia do estado do pool de conexões em um instante
+ */
+public class EstatisticasPool {
+    private final int ativas;
+    private final int ociosas;
+    private final int total;
+    private final int aguardando;
+    private final long aquisicoes;
+    private final double esperaMediaMs;
+    private final double esperaMaximaMs;
+    private final long timeouts;
+
+    public EstatisticasPool(int ativas, int ociosas, int total, int aguardando,
+                            long aquisicoes, double esperaMediaMs, double esperaMaximaMs, long timeouts) {
+        this.ativas = ativas;
+        this.ociosas = ociosas;
+        this.total = total;
+        this.aguardando = aguardando;
+        this.aquisicoes = aquisicoes;
+        this.esperaMediaMs = esperaMediaMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.timeouts = timeouts;
+    }
+
+    public int getAtivas() { return ativas; }
+    public int getOciosas() { return ociosas; }
+    public int getTotal() { return total; }
+    public int getAguardando() { return aguardando; }
+    public long getAquisicoes() { return aquisicoes; }
+    public double getEsperaMediaMs() { return esperaMediaMs; }
+    public double getEsperaMaximaMs() { return esperaMaximaMs; }
+    public long getTimeouts() { return timeouts; }
+
+    @Override
+    public String toString() {
+        return String.format("ativas=%d, ociosas=%d, total=%d, aguardando=%d, aquisicoes=%d, espera média=%.2fms, espera máxima=%.2fms, timeouts=%d",
+                ativas, ociosas, total, aguardando, aquisicoes, esperaMediaMs, esperaMaximaMs, timeouts);
+    }
+}
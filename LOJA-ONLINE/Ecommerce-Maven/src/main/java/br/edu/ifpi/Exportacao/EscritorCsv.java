@@ -0,0 +1,88 @@
+package br.edu.ifpi.Exportacao;
+
+import br.edu.ifpi.Model.Boleto;
+import br.edu.ifpi.Model.Cliente;
+import br.edu.ifpi.Model.ItemPedido;
+import br.edu.ifpi.Model.Pagamento;
+import br.edu.ifpi.Model.Pedido;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV (RFC 4180, separador vírgula): uma linha por item, com os dados do pedido repetidos
+ */
+class EscritorCsv extends EscritorPedidos {
+    private static final String[] COLUNAS = {
+        "numero_pedido", "data", "status", "valor_total",
+        "cliente_id", "cliente_nome", "cliente_email",
+        "pagamento_id", "pagamento_tipo", "pagamento_status", "pagamento_valor",
+        "boleto_codigo", "boleto_vencimento",
+        "item_id", "produto_id", "produto_nome", "quantidade", "preco_unitario", "subtotal"
+    };
+
+    EscritorCsv(Writer saida) {
+        super(saida);
+    }
+
+    @Override
+    void cabecalho() throws IOException {
+        saida.write(String.join(",", COLUNAS));
+        saida.write("\r\n");
+    }
+
+    @Override
+    void escreverPedido(Pedido pedido) throws IOException {
+        if (pedido.getItens().isEmpty()) {
+            escreverLinha(pedido, null);
+        }
+        for (ItemPedido item : pedido.getItens()) {
+            escreverLinha(pedido, item);
+        }
+    }
+
+    private void escreverLinha(Pedido pedido, ItemPedido item) throws IOException {
+        linha.setLength(0);
+        campo(pedido.getNumeroPedido());
+        campo(pedido.getData());
+        campo(pedido.getStatus());
+        campo(valor(pedido.getTotal()));
+
+        Cliente cliente = pedido.getCliente();
+        campo(cliente != null ? cliente.getId() : null);
+        campo(cliente != null ? cliente.getNome() : null);
+        campo(cliente != null ? cliente.getEmail() : null);
+
+        Pagamento pagamento = pedido.getPagamento();
+        campo(pagamento != null ? pagamento.getId() : null);
+        campo(pagamento != null ? pagamento.getClass().getSimpleName() : null);
+        campo(pagamento != null ? pagamento.getStatusPagamento() : null);
+        campo(pagamento != null ? valor(pagamento.getValor()) : null);
+        Boleto boleto = comoBoleto(pagamento);
+        campo(boleto != null ? boleto.getCodigoBoleto() : null);
+        campo(boleto != null ? boleto.getVencimento() : null);
+
+        campo(item != null ? item.getId() : null);
+        campo(item != null && item.getProduto() != null ? item.getProduto().getId() : null);
+        campo(item != null && item.getProduto() != null ? item.getProduto().getNome() : null);
+        campo(item != null ? item.getQuantidade() : null);
+        campo(item != null ? valor(item.getPrecoUnitario()) : null);
+        campo(item != null ? valor(item.getSubtotal()) : null);
+
+        linha.setLength(linha.length() - 1); // última vírgula
+        linha.append("\r\n");
+        saida.append(linha);
+    }
+
+    /** null vira campo vazio; aspas só quando o texto tem vírgula, aspas ou quebra de linha */
+    private void campo(Object valor) {
+        if (valor != null) {
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+                linha.append('"').append(texto.replace("\"", "\"\"")).append('"');
+            } else {
+                linha.append(texto);
+            }
+        }
+        linha.append(',');
+    }
+}
@@ -0,0 +1,121 @@
+package br.edu.ifpi.Exportacao;
+
+import br.edu.ifpi.Model.Boleto;
+import br.edu.ifpi.Model.Cliente;
+import br.edu.ifpi.Model.ItemPedido;
+import br.edu.ifpi.Model.Pagamento;
+import br.edu.ifpi.Model.Pedido;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines: um objeto por pedido e por linha. Valores em dinheiro saem como número
+ * decimal exato (12.50), datas em ISO-8601 e status pelo nome
+ */
+class EscritorJsonLinhas extends EscritorPedidos {
+
+    EscritorJsonLinhas(Writer saida) {
+        super(saida);
+    }
+
+    @Override
+    void cabecalho() {
+        // JSON Lines não tem cabeçalho
+    }
+
+    @Override
+    void escreverPedido(Pedido pedido) throws IOException {
+        linha.setLength(0);
+        linha.append('{');
+        numero("numeroPedido", pedido.getNumeroPedido());
+        texto("data", pedido.getData());
+        texto("status", pedido.getStatus());
+        numero("valorTotal", valor(pedido.getTotal()));
+
+        Cliente cliente = pedido.getCliente();
+        if (cliente != null) {
+            linha.append("\"cliente\":{");
+            numero("id", cliente.getId());
+            texto("nome", cliente.getNome());
+            texto("email", cliente.getEmail());
+            fecharObjeto();
+        } else {
+            linha.append("\"cliente\":null,");
+        }
+
+        Pagamento pagamento = pedido.getPagamento();
+        if (pagamento != null) {
+            linha.append("\"pagamento\":{");
+            numero("id", pagamento.getId());
+            texto("tipo", pagamento.getClass().getSimpleName());
+            texto("status", pagamento.getStatusPagamento());
+            numero("valor", valor(pagamento.getValor()));
+            Boleto boleto = comoBoleto(pagamento);
+            if (boleto != null) {
+                texto("codigoBoleto", boleto.getCodigoBoleto());
+                texto("vencimento", boleto.getVencimento());
+            }
+            fecharObjeto();
+        } else {
+            linha.append("\"pagamento\":null,");
+        }
+
+        linha.append("\"itens\":[");
+        for (ItemPedido item : pedido.getItens()) {
+            linha.append('{');
+            numero("id", item.getId());
+            numero("produtoId", item.getProduto() != null ? item.getProduto().getId() : null);
+            texto("produto", item.getProduto() != null ? item.getProduto().getNome() : null);
+            numero("quantidade", item.getQuantidade());
+            numero("precoUnitario", valor(item.getPrecoUnitario()));
+            numero("subtotal", valor(item.getSubtotal()));
+            fecharObjeto();
+        }
+        if (linha.charAt(linha.length() - 1) == ',') {
+            linha.setLength(linha.length() - 1);
+        }
+        linha.append("]}\n");
+        saida.append(linha);
+    }
+
+    private void numero(String nome, Object valor) {
+        linha.append('"').append(nome).append("\":").append(valor != null ? valor.toString() : "null").append(',');
+    }
+
+    private void texto(String nome, Object valor) {
+        linha.append('"').append(nome).append("\":");
+        if (valor == null) {
+            linha.append("null");
+        } else {
+            escapar(valor.toString());
+        }
+        linha.append(',');
+    }
+
+    /** Troca a vírgula final do último campo pelo fechamento do objeto */
+    private void fecharObjeto() {
+        linha.setCharAt(linha.length() - 1, '}');
+        linha.append(',');
+    }
+
+    private void escapar(String texto) {
+        linha.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"': linha.append("\\\""); break;
+                case '\\': linha.append("\\\\"); break;
+                case '\n': linha.append("\\n"); break;
+                case '\r': linha.append("\\r"); break;
+                case '\t': linha.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        linha.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        linha.append(c);
+                    }
+            }
+        }
+        linha.append('"');
+    }
+}
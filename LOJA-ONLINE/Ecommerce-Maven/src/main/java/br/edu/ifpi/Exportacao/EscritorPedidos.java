@@ -0,0 +1,35 @@
+package br.edu.ifpi.Exportacao;
+
+import br.edu.ifpi.Model.Boleto;
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.Pedido;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escreve pedidos um a um num Writer; nada é acumulado entre um pedido e outro
+ * Template Method: cada formato implementa cabecalho e escreverPedido
+ */
+abstract class EscritorPedidos {
+    protected final Writer saida;
+    // Reaproveitado entre pedidos: cada linha é montada aqui e escrita de uma vez
+    protected final StringBuilder linha = new StringBuilder(256);
+
+    protected EscritorPedidos(Writer saida) {
+        this.saida = saida;
+    }
+
+    /** Escrito uma vez, antes do primeiro pedido */
+    abstract void cabecalho() throws IOException;
+
+    abstract void escreverPedido(Pedido pedido) throws IOException;
+
+    /** Valor em reais com ponto decimal (ex: 12.50), ou null */
+    protected static String valor(Dinheiro dinheiro) {
+        return dinheiro != null ? dinheiro.toString() : null;
+    }
+
+    protected static Boleto comoBoleto(Object pagamento) {
+        return pagamento instanceof Boleto boleto ? boleto : null;
+    }
+}
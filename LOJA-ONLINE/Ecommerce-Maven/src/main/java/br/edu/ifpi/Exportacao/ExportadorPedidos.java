@@ -0,0 +1,123 @@
+package br.edu.ifpi.Exportacao;
+
+import br.edu.ifpi.DAO.FiltroPedido;
+import br.edu.ifpi.DAO.PedidoDAO;
+import br.edu.ifpi.JPAUtil;
+import br.edu.ifpi.Model.Pedido;
+import jakarta.persistence.PersistenceException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta pedidos (com cliente, pagamento e itens) para CSV ou JSON Lines em memória constante:
+ * os pedidos vêm de PedidoDAO.stream (cursor no servidor) e são escritos assim que chegam.
+ * Para exportações grandes, rode com o perfil reporting:
+ * java -Decommerce.carga.perfil=reporting br.edu.ifpi.Exportacao.ExportadorPedidos pedidos.jsonl
+ */
+public class ExportadorPedidos {
+    private final PedidoDAO pedidoDAO;
+
+    public ExportadorPedidos() {
+        this(new PedidoDAO());
+    }
+
+    public ExportadorPedidos(PedidoDAO pedidoDAO) {
+        this.pedidoDAO = pedidoDAO;
+    }
+
+    /**
+     * Exporta para o arquivo (sobrescrito), no formato da extensão (.csv ou .jsonl)
+     * Escreve num temporário ao lado do destino e só o move para o lugar no fim,
+     * então uma falha no meio não deixa arquivo parcial nem estraga uma exportação anterior
+     * @return quantidade de pedidos exportados
+     */
+    public long exportar(FiltroPedido filtro, Path arquivo) throws IOException {
+        FormatoExportacao formato = FormatoExportacao.deArquivo(arquivo);
+        Path destino = arquivo.toAbsolutePath();
+        Path diretorio = destino.getParent();
+        if (!Files.isDirectory(diretorio)) {
+            throw new NoSuchFileException(diretorio.toString(), null, "diretório não encontrado");
+        }
+        Path temporario = Files.createTempFile(diretorio, "." + destino.getFileName() + ".", ".parcial");
+        try {
+            long quantidade;
+            try (BufferedWriter saida = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                quantidade = exportar(filtro, formato, saida);
+            }
+            mover(temporario, destino);
+            return quantidade;
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporario);
+            } catch (IOException erroRemocao) {
+                e.addSuppressed(erroRemocao);
+            }
+            throw e;
+        }
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Escreve os pedidos do filtro na saída (que não é fechada aqui)
+     * @return quantidade de pedidos exportados
+     */
+    public long exportar(FiltroPedido filtro, FormatoExportacao formato, Writer saida) throws IOException {
+        EscritorPedidos escritor = formato.criarEscritor(saida);
+        escritor.cabecalho();
+        long quantidade = 0;
+        try (Stream<Pedido> pedidos = pedidoDAO.stream(filtro)) {
+            Iterator<Pedido> iterador = pedidos.iterator();
+            while (iterador.hasNext()) {
+                escritor.escreverPedido(iterador.next());
+                quantidade++;
+            }
+        }
+        saida.flush();
+        return quantidade;
+    }
+
+    /**
+     * Uso: ExportadorPedidos &lt;arquivo.csv|arquivo.jsonl&gt; [status]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: ExportadorPedidos <arquivo.csv|arquivo.jsonl> [status]");
+            System.exit(1);
+        }
+        FiltroPedido filtro = new FiltroPedido();
+        if (args.length > 1) {
+            filtro.comStatus(br.edu.ifpi.Model.StatusPedido.valueOf(args[1].trim().toUpperCase()));
+        }
+        try {
+            long inicio = System.nanoTime();
+            long quantidade = new ExportadorPedidos().exportar(filtro, Path.of(args[0]));
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.println("✅ " + quantidade + " pedidos exportados para " + args[0] + " em " + ms + " ms");
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("❌ Erro ao gravar " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            System.out.println("❌ Erro na exportação: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            JPAUtil.close();
+        }
+    }
+}
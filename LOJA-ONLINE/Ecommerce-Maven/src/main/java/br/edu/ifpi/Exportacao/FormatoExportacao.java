@@ -0,0 +1,45 @@
+package br.edu.ifpi.Exportacao;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de exportação de pedidos, escolhidos pela extensão do arquivo
+ */
+public enum FormatoExportacao {
+    /** Uma linha por item (pedidos sem itens saem numa linha com as colunas de item vazias) */
+    CSV(".csv"),
+    /** Um objeto JSON por pedido e por linha, com cliente, pagamento e itens aninhados */
+    JSONL(".jsonl");
+
+    private final String extensao;
+
+    FormatoExportacao(String extensao) {
+        this.extensao = extensao;
+    }
+
+    public String getExtensao() { return extensao; }
+
+    EscritorPedidos criarEscritor(Writer saida) {
+        return this == CSV ? new EscritorCsv(saida) : new EscritorJsonLinhas(saida);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o caminho não tiver nome de arquivo (ex.: "/")
+     *                                  ou se a extensão não for .csv nem .jsonl
+     */
+    public static FormatoExportacao deArquivo(Path arquivo) {
+        Path nomeArquivo = arquivo.getFileName();
+        if (nomeArquivo == null) {
+            throw new IllegalArgumentException("Informe um arquivo, não um diretório: " + arquivo);
+        }
+        String nome = nomeArquivo.toString().toLowerCase(Locale.ROOT);
+        for (FormatoExportacao formato : values()) {
+            if (nome.endsWith(formato.extensao)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato não suportado (use .csv ou .jsonl): " + arquivo);
+    }
+}
@@ -2,6 +2,8 @@ package br.edu.ifpi.Factory;
 
 import br.edu.ifpi.Model.Pagamento;
 import br.edu.ifpi.Model.Boleto;
+import br.edu.ifpi.Model.Dinheiro;
+import java.time.LocalDate;
 
 /**
  * Factory concreta para criação de Boletos
@@ -10,8 +12,8 @@ import br.edu.ifpi.Model.Boleto;
 public class BoletoFactory extends PagamentoFactory {
     
     private String codigoBoleto;
-    private String vencimento;
-    private Double valor;
+    private LocalDate vencimento;
+    private Dinheiro valor;
     
     /**
      * Construtor básico - apenas código
@@ -23,7 +25,7 @@ public class BoletoFactory extends PagamentoFactory {
     /**
      * Construtor com código e vencimento
      */
-    public BoletoFactory(String codigoBoleto, String vencimento) {
+    public BoletoFactory(String codigoBoleto, LocalDate vencimento) {
         this.codigoBoleto = codigoBoleto;
         this.vencimento = vencimento;
     }
@@ -31,7 +33,7 @@ public class BoletoFactory extends PagamentoFactory {
     /**
      * Construtor completo
      */
-    public BoletoFactory(String codigoBoleto, String vencimento, Double valor) {
+    public BoletoFactory(String codigoBoleto, LocalDate vencimento, Dinheiro valor) {
         this.codigoBoleto = codigoBoleto;
         this.vencimento = vencimento;
         this.valor = valor;
@@ -71,15 +73,6 @@ public class BoletoFactory extends PagamentoFactory {
         if (boleto.getCodigoBoleto().length() < 10) {
             throw new IllegalArgumentException("Código do boleto deve ter pelo menos 10 caracteres");
         }
-        
-        // Se tem vencimento, valida formato básico
-        if (boleto.getVencimento() != null && !boleto.getVencimento().trim().isEmpty()) {
-            String venc = boleto.getVencimento().trim();
-            // Validação básica de formato DD/MM/YYYY
-            if (!venc.matches("\\d{2}/\\d{2}/\\d{4}")) {
-                throw new IllegalArgumentException("Vencimento deve estar no formato DD/MM/YYYY");
-            }
-        }
     }
     
     /**
@@ -92,10 +85,8 @@ public class BoletoFactory extends PagamentoFactory {
         Boleto boleto = (Boleto) pagamento;
         
         // Se não tem vencimento, define vencimento padrão (30 dias)
-        if (boleto.getVencimento() == null || boleto.getVencimento().trim().isEmpty()) {
-            java.time.LocalDate dataVencimento = java.time.LocalDate.now().plusDays(30);
-            java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            boleto.setVencimento(dataVencimento.format(formatter));
+        if (boleto.getVencimento() == null) {
+            boleto.setVencimento(LocalDate.now().plusDays(30));
         }
         
         // Se tem valor, define no pagamento
@@ -113,16 +104,16 @@ public class BoletoFactory extends PagamentoFactory {
         Boleto boleto = (Boleto) pagamento;
         String codigoExibido = boleto.getCodigoBoleto().length() > 20 ? 
             boleto.getCodigoBoleto().substring(0, 20) + "..." : boleto.getCodigoBoleto();
-        System.out.println("   🔢 Código: " + codigoExibido + " | Vencimento: " + boleto.getVencimento());
+        System.out.println("   🔢 Código: " + codigoExibido + " | Vencimento: " + boleto.getVencimentoFormatado());
     }
     
     // Setters para permitir modificação após construção
-    public BoletoFactory setVencimento(String vencimento) {
+    public BoletoFactory setVencimento(LocalDate vencimento) {
         this.vencimento = vencimento;
         return this;
     }
     
-    public BoletoFactory setValor(Double valor) {
+    public BoletoFactory setValor(Dinheiro valor) {
         this.valor = valor;
         return this;
     }
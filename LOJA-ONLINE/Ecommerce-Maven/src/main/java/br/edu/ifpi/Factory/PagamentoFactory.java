@@ -1,6 +1,7 @@
 package br.edu.ifpi.Factory;
 
 import br.edu.ifpi.Model.Pagamento;
+import br.edu.ifpi.Model.StatusPagamento;
 
 /**
  * Abstract Factory para criação de pagamentos
@@ -39,8 +40,8 @@ public abstract class PagamentoFactory {
      */
     protected void configurarPagamento(Pagamento pagamento) {
         // Configuração padrão: status pendente se não definido
-        if (pagamento.getStatusPagamento() == null || pagamento.getStatusPagamento().trim().isEmpty()) {
-            pagamento.setStatusPagamento("PENDENTE");
+        if (pagamento.getStatusPagamento() == null) {
+            pagamento.setStatusPagamento(StatusPagamento.PENDENTE);
         }
     }
     
@@ -48,14 +49,9 @@ public abstract class PagamentoFactory {
      * Validações comuns a todos os pagamentos
      */
     protected void validarPagamento(Pagamento pagamento) {
-        if (pagamento.getValor() != null && pagamento.getValor() < 0) {
+        if (pagamento.getValor() != null && pagamento.getValor().isNegativo()) {
             throw new IllegalArgumentException("Valor do pagamento não pode ser negativo");
         }
-        
-        String status = pagamento.getStatusPagamento();
-        if (status != null && !status.equals("PENDENTE") && !status.equals("PAGO")) {
-            throw new IllegalArgumentException("Status do pagamento deve ser PENDENTE ou PAGO");
-        }
     }
     
     /**
@@ -63,7 +59,7 @@ public abstract class PagamentoFactory {
      */
     protected void logCriacao(Pagamento pagamento) {
         String valor = pagamento.getValor() != null ? 
-            "R$ " + String.format("%.2f", pagamento.getValor()) : "Não informado";
+            pagamento.getValor().formatar() : "Não informado";
         
         System.out.println("💳 Factory: Pagamento criado - " + pagamento.getClass().getSimpleName() + 
                           " | Valor: " + valor + 
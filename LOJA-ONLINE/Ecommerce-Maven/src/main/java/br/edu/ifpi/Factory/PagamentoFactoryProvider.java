@@ -1,5 +1,8 @@
 package br.edu.ifpi.Factory;
 
+import br.edu.ifpi.Model.Dinheiro;
+import java.time.LocalDate;
+
 /**
  * Provider que retorna a Factory apropriada baseada no tipo de pagamento
  * Implementa o padrão Abstract Factory
@@ -38,14 +41,14 @@ public class PagamentoFactoryProvider {
     /**
      * Cria factory para boleto com vencimento
      */
-    public static PagamentoFactory criarFactoryBoleto(String codigoBoleto, String vencimento) {
+    public static PagamentoFactory criarFactoryBoleto(String codigoBoleto, LocalDate vencimento) {
         return new BoletoFactory(codigoBoleto, vencimento);
     }
     
     /**
      * Cria factory para boleto completo
      */
-    public static PagamentoFactory criarFactoryBoleto(String codigoBoleto, String vencimento, Double valor) {
+    public static PagamentoFactory criarFactoryBoleto(String codigoBoleto, LocalDate vencimento, Dinheiro valor) {
         return new BoletoFactory(codigoBoleto, vencimento, valor);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package br.edu.ifpi.Factory;
 
 import br.edu.ifpi.Model.Produto;
 import br.edu.ifpi.Model.ProdutoDigital;
+import br.edu.ifpi.Model.Dinheiro;
 
 /**
  * Factory concreta para criação de Produtos Digitais
@@ -10,7 +11,7 @@ import br.edu.ifpi.Model.ProdutoDigital;
 public class ProdutoDigitalFactory extends ProdutoFactory {
     
     private String nome;
-    private Double preco;
+    private Dinheiro preco;
     private String descricao;
     private String urlDownload;
     private Integer tamanhoArquivo;
@@ -19,7 +20,7 @@ public class ProdutoDigitalFactory extends ProdutoFactory {
     /**
      * Construtor com parâmetros obrigatórios
      */
-    public ProdutoDigitalFactory(String nome, Double preco, String descricao, String urlDownload) {
+    public ProdutoDigitalFactory(String nome, Dinheiro preco, String descricao, String urlDownload) {
         this.nome = nome;
         this.preco = preco;
         this.descricao = descricao;
@@ -29,7 +30,7 @@ public class ProdutoDigitalFactory extends ProdutoFactory {
     /**
      * Construtor completo
      */
-    public ProdutoDigitalFactory(String nome, Double preco, String descricao, 
+    public ProdutoDigitalFactory(String nome, Dinheiro preco, String descricao, 
                                 String urlDownload, Integer tamanhoArquivo) {
         this.nome = nome;
         this.preco = preco;
@@ -8,6 +8,8 @@ import br.edu.ifpi.Model.Produto;
  */
 public abstract class ProdutoFactory {
     
+    private boolean registrarCriacao = true;
+    
     /**
      * Factory Method - deve ser implementado pelas subclasses
      * @return Produto concreto criado
@@ -29,11 +31,22 @@ public abstract class ProdutoFactory {
         validarProduto(produto);
         
         // 4. Log da criação
-        logCriacao(produto);
+        if (registrarCriacao) {
+            logCriacao(produto);
+        }
         
         return produto;
     }
     
+    /**
+     * Desliga o log de criação (importação em massa: um println por produto dominaria o tempo)
+     * @return esta instância para method chaining
+     */
+    public ProdutoFactory semLog() {
+        this.registrarCriacao = false;
+        return this;
+    }
+    
     /**
      * Configurações comuns a todos os produtos
      */
@@ -52,7 +65,7 @@ public abstract class ProdutoFactory {
             throw new IllegalArgumentException("Nome do produto é obrigatório");
         }
         
-        if (produto.getPreco() == null || produto.getPreco() <= 0) {
+        if (produto.getPreco() == null || !produto.getPreco().isPositivo()) {
             throw new IllegalArgumentException("Preço deve ser maior que zero");
         }
     }
@@ -63,6 +76,6 @@ public abstract class ProdutoFactory {
     protected void logCriacao(Produto produto) {
         System.out.println("🏭 Factory: Produto criado - " + produto.getClass().getSimpleName() + 
                           " | Nome: " + produto.getNome() + 
-                          " | Preço: R$ " + String.format("%.2f", produto.getPreco()));
+                          " | Preço: " + produto.getPreco().formatar());
     }
 }
\ No newline at end of file
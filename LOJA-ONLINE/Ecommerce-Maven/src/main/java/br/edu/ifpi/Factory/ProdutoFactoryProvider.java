@@ -1,5 +1,7 @@
 package br.edu.ifpi.Factory;
 
+import br.edu.ifpi.Model.Dinheiro;
+
 /**
  * Provider que retorna a Factory apropriada baseada no tipo de produto
  * Implementa o padrão Abstract Factory
@@ -13,6 +15,31 @@ public class ProdutoFactoryProvider {
      * @throws IllegalArgumentException se tipo inválido
      */
     public static ProdutoFactory getFactory(String tipoProduto) {
+        if (isDigital(tipoProduto)) {
+            return new ProdutoDigitalFactory("", Dinheiro.ZERO, "", "");
+        }
+        return new ProdutoFisicoFactory("", Dinheiro.ZERO, "", 0.0, 0);
+    }
+    
+    /**
+     * Factory já preenchida para o tipo informado (usada na importação do catálogo);
+     * os campos que não se aplicam ao tipo são ignorados
+     * @throws IllegalArgumentException se tipo inválido
+     */
+    public static ProdutoFactory criarFactory(String tipoProduto, String nome, Dinheiro preco, String descricao,
+                                              Double peso, Integer estoque,
+                                              String urlDownload, Integer tamanhoArquivo) {
+        if (isDigital(tipoProduto)) {
+            return criarFactoryProdutoDigital(nome, preco, descricao, urlDownload, tamanhoArquivo);
+        }
+        return criarFactoryProdutoFisico(nome, preco, descricao, peso, estoque);
+    }
+    
+    /**
+     * @return true para produto digital, false para físico
+     * @throws IllegalArgumentException se tipo nulo ou inválido
+     */
+    private static boolean isDigital(String tipoProduto) {
         if (tipoProduto == null) {
             throw new IllegalArgumentException("Tipo de produto não pode ser nulo");
         }
@@ -21,13 +48,13 @@ public class ProdutoFactoryProvider {
             case "DIGITAL":
             case "PRODUTO_DIGITAL":
             case "PD":
-                return new ProdutoDigitalFactory("", 0.0, "", "");
+                return true;
             
             case "FISICO":
             case "FÍSICO":
             case "PRODUTO_FISICO":
             case "PF":
-                return new ProdutoFisicoFactory("", 0.0, "", 0.0, 0);
+                return false;
             
             default:
                 throw new IllegalArgumentException("Tipo de produto inválido: " + tipoProduto + 
@@ -38,7 +65,7 @@ public class ProdutoFactoryProvider {
     /**
      * Cria factory para produto digital com parâmetros
      */
-    public static ProdutoFactory criarFactoryProdutoDigital(String nome, Double preco, 
+    public static ProdutoFactory criarFactoryProdutoDigital(String nome, Dinheiro preco, 
                                                            String descricao, String urlDownload) {
         return new ProdutoDigitalFactory(nome, preco, descricao, urlDownload);
     }
@@ -46,7 +73,7 @@ public class ProdutoFactoryProvider {
     /**
      * Cria factory para produto digital completa
      */
-    public static ProdutoFactory criarFactoryProdutoDigital(String nome, Double preco, 
+    public static ProdutoFactory criarFactoryProdutoDigital(String nome, Dinheiro preco, 
                                                            String descricao, String urlDownload, 
                                                            Integer tamanhoArquivo) {
         return new ProdutoDigitalFactory(nome, preco, descricao, urlDownload, tamanhoArquivo);
@@ -55,7 +82,7 @@ public class ProdutoFactoryProvider {
     /**
      * Cria factory para produto físico com parâmetros
      */
-    public static ProdutoFactory criarFactoryProdutoFisico(String nome, Double preco, 
+    public static ProdutoFactory criarFactoryProdutoFisico(String nome, Dinheiro preco, 
                                                           String descricao, Double peso, 
                                                           Integer estoque) {
         return new ProdutoFisicoFactory(nome, preco, descricao, peso, estoque);
@@ -2,6 +2,7 @@ package br.edu.ifpi.Factory;
 
 import br.edu.ifpi.Model.Produto;
 import br.edu.ifpi.Model.ProdutoFisico;
+import br.edu.ifpi.Model.Dinheiro;
 
 /**
  * Factory concreta para criação de Produtos Físicos
@@ -10,7 +11,7 @@ import br.edu.ifpi.Model.ProdutoFisico;
 public class ProdutoFisicoFactory extends ProdutoFactory {
     
     private String nome;
-    private Double preco;
+    private Dinheiro preco;
     private String descricao;
     private Double peso;
     private Integer estoque;
@@ -18,7 +19,7 @@ public class ProdutoFisicoFactory extends ProdutoFactory {
     /**
      * Construtor completo
      */
-    public ProdutoFisicoFactory(String nome, Double preco, String descricao, 
+    public ProdutoFisicoFactory(String nome, Dinheiro preco, String descricao, 
                                Double peso, Integer estoque) {
         this.nome = nome;
         this.preco = preco;
@@ -0,0 +1,45 @@
+package br.edu.ifpi.Importacao;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de arquivo de catálogo, escolhidos pela extensão
+ * Colunas/campos: tipo, nome, preco, descricao, peso, estoque, url_download, tamanho_arquivo
+ */
+public enum FormatoImportacao {
+    /** Primeira linha é o cabeçalho (em qualquer ordem); um produto por linha */
+    CSV(".csv"),
+    /** Um objeto JSON plano por linha */
+    JSONL(".jsonl");
+
+    private final String extensao;
+
+    FormatoImportacao(String extensao) {
+        this.extensao = extensao;
+    }
+
+    public String getExtensao() { return extensao; }
+
+    LeitorProdutos criarLeitor() {
+        return this == CSV ? new LeitorCsv() : new LeitorJsonLinhas();
+    }
+
+    /**
+     * @throws IllegalArgumentException se o caminho não tiver nome de arquivo (ex.: "/")
+     *                                  ou se a extensão não for .csv nem .jsonl
+     */
+    public static FormatoImportacao deArquivo(Path arquivo) {
+        Path nomeArquivo = arquivo.getFileName();
+        if (nomeArquivo == null) {
+            throw new IllegalArgumentException("Informe um arquivo, não um diretório: " + arquivo);
+        }
+        String nome = nomeArquivo.toString().toLowerCase(Locale.ROOT);
+        for (FormatoImportacao formato : values()) {
+            if (nome.endsWith(formato.extensao)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato não suportado (use .csv ou .jsonl): " + arquivo);
+    }
+}
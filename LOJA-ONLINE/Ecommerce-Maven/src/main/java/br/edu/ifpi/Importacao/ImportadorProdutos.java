@@ -0,0 +1,488 @@
+package br.edu.ifpi.Importacao;
+
+import br.edu.ifpi.Configuracao;
+import br.edu.ifpi.Factory.ProdutoFactoryProvider;
+import br.edu.ifpi.JPAUtil;
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.LoteImportacao;
+import br.edu.ifpi.Model.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Importa o catálogo de produtos de um arquivo CSV ou JSON Lines
+ * O arquivo é lido em blocos de ecommerce.jdbc.tamanho-lote linhas; cada bloco é validado
+ * pelas factories (ProdutoFactoryProvider) e gravado numa transação própria, em lotes JDBC,
+ * por um pool de ecommerce.importacao.threads threads.
+ * Linhas inválidas não interrompem a importação: vão para &lt;arquivo&gt;.erros.csv.
+ * Cada bloco gravado deixa um LoteImportacao na mesma transação, identificado pelo SHA-256
+ * do conteúdo do arquivo: rodar de novo sobre o mesmo arquivo (mesmo que renomeado ou em
+ * outro diretório) retoma de onde parou sem duplicar produtos; um arquivo alterado começa do zero.
+ * Para catálogos grandes, rode com o perfil bulk-import:
+ * java -Decommerce.carga.perfil=bulk-import br.edu.ifpi.Importacao.ImportadorProdutos catalogo.csv
+ */
+public class ImportadorProdutos {
+    private static final String BOM = "\uFEFF";
+
+    private final int tamanhoBloco;
+    private final int threads;
+
+    public ImportadorProdutos() {
+        this(Configuracao.getInt("ecommerce.jdbc.tamanho-lote", 50), threadsPadrao());
+    }
+
+    public ImportadorProdutos(int tamanhoBloco, int threads) {
+        this.tamanhoBloco = Math.max(1, tamanhoBloco);
+        this.threads = Math.max(1, threads);
+    }
+
+    /** ecommerce.importacao.threads (0 = um por processador), limitado ao tamanho do pool de conexões */
+    private static int threadsPadrao() {
+        int configurado = Configuracao.getInt("ecommerce.importacao.threads", 0);
+        int threads = configurado > 0 ? configurado : Runtime.getRuntime().availableProcessors();
+        return Math.min(threads, Configuracao.getInt("ecommerce.pool.maximo", 10));
+    }
+
+    /**
+     * @throws IllegalArgumentException se a extensão não for .csv nem .jsonl
+     * @throws IllegalStateException se o banco falhar de um jeito que não é culpa de uma linha
+     */
+    public ResultadoImportacao importar(Path arquivo) throws IOException {
+        long inicio = System.nanoTime();
+        LeitorProdutos leitor = FormatoImportacao.deArquivo(arquivo).criarLeitor();
+        String hash = hashConteudo(arquivo);
+        String nome = arquivo.getFileName().toString();
+        Path arquivoErros = arquivo.resolveSibling(arquivo.getFileName() + ".erros.csv");
+        Contadores contadores = new Contadores();
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        // Limita os blocos lidos e ainda não gravados: a memória não depende do tamanho do arquivo
+        Semaphore vagas = new Semaphore(threads * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new FabricaThreads());
+
+        try (BufferedReader entrada = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8);
+             RelatorioErros relatorio = new RelatorioErros(arquivoErros)) {
+            FaixasImportadas importadas = new FaixasImportadas(blocosImportados(hash));
+            boolean esperandoCabecalho = leitor.temCabecalho();
+            List<Linha> bloco = new ArrayList<>(tamanhoBloco);
+            String texto;
+            int numero = 0;
+            try {
+                while ((texto = entrada.readLine()) != null && falha.get() == null) {
+                    numero++;
+                    if (numero == 1 && texto.startsWith(BOM)) {
+                        // Editores no Windows (Excel, Bloco de Notas) gravam UTF-8 com BOM
+                        texto = texto.substring(BOM.length());
+                    }
+                    if (texto.isBlank()) {
+                        continue;
+                    }
+                    if (esperandoCabecalho) {
+                        leitor.cabecalho(texto);
+                        esperandoCabecalho = false;
+                        continue;
+                    }
+                    if (importadas.contem(numero)) {
+                        contadores.jaImportadas.incrementAndGet();
+                        continue;
+                    }
+                    bloco.add(new Linha(numero, texto));
+                    if (bloco.size() == tamanhoBloco) {
+                        enviar(executor, vagas, falha, new Bloco(hash, nome, bloco), leitor, relatorio, contadores);
+                        bloco = new ArrayList<>(tamanhoBloco);
+                    }
+                }
+                if (!bloco.isEmpty() && falha.get() == null) {
+                    enviar(executor, vagas, falha, new Bloco(hash, nome, bloco), leitor, relatorio, contadores);
+                }
+            } finally {
+                executor.shutdown();
+                aguardar(executor);
+            }
+        }
+
+        if (falha.get() != null) {
+            throw new IllegalStateException("Importação interrompida (rode de novo para retomar): " +
+                    falha.get().getMessage(), falha.get());
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        return new ResultadoImportacao(contadores.lidas.get(), contadores.importadas.get(), contadores.erros.get(),
+                contadores.jaImportadas.get(), ms, arquivoErros);
+    }
+
+    private void enviar(ExecutorService executor, Semaphore vagas, AtomicReference<Throwable> falha, Bloco bloco,
+                        LeitorProdutos leitor, RelatorioErros relatorio, Contadores contadores) {
+        vagas.acquireUninterruptibly();
+        executor.execute(() -> {
+            try {
+                gravarBloco(bloco, leitor, relatorio, contadores);
+            } catch (Throwable e) {
+                falha.compareAndSet(null, e);
+            } finally {
+                vagas.release();
+            }
+        });
+    }
+
+    private static void aguardar(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // blocos grandes em banco lento: continua esperando
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Valida as linhas do bloco e grava os produtos válidos junto com o LoteImportacao
+     * Os erros de validação vão para o relatório logo antes do commit: depois dele o bloco
+     * é pulado ao retomar, então um erro registrado só depois poderia se perder. Se a
+     * transação falhar antes, gravarLinhaALinha relata cada um junto com o registro da linha
+     * Se a transação do bloco falhar, grava linha a linha para isolar a que o banco recusou
+     */
+    private void gravarBloco(Bloco bloco, LeitorProdutos leitor, RelatorioErros relatorio, Contadores contadores) throws IOException {
+        // Alinhadas com bloco.linhas: campos é null nas linhas inválidas, mensagens nas válidas
+        List<Map<String, String>> campos = new ArrayList<>(bloco.linhas.size());
+        List<String> mensagens = new ArrayList<>(bloco.linhas.size());
+        List<Produto> produtos = new ArrayList<>(bloco.linhas.size());
+        List<String> erros = new ArrayList<>();
+        List<Linha> linhasComErro = new ArrayList<>();
+        for (Linha linha : bloco.linhas) {
+            try {
+                Map<String, String> lidos = leitor.ler(linha.texto);
+                produtos.add(criarProduto(lidos));
+                campos.add(lidos);
+                mensagens.add(null);
+            } catch (RuntimeException e) {
+                campos.add(null);
+                mensagens.add(e.getMessage());
+                linhasComErro.add(linha);
+                erros.add(e.getMessage());
+            }
+        }
+        contadores.lidas.addAndGet(bloco.linhas.size());
+
+        boolean errosRelatados = false;
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            for (Produto produto : produtos) {
+                em.persist(produto);
+            }
+            em.persist(bloco.lote(produtos.size(), erros.size()));
+            em.flush();
+            relatorio.registrar(linhasComErro, erros);
+            contadores.erros.addAndGet(linhasComErro.size());
+            errosRelatados = true;
+            transaction.commit();
+            contadores.importadas.addAndGet(produtos.size());
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            em.close();
+            em = null;
+            gravarLinhaALinha(bloco, campos, mensagens, errosRelatados, relatorio, contadores);
+        } finally {
+            if (em != null) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Grava cada linha do bloco na sua transação, junto com um LoteImportacao só daquela linha,
+     * então uma interrupção no meio retoma da primeira linha ainda não registrada.
+     * Cada linha com erro vai para o relatório logo antes do seu registro ser gravado, então
+     * retomar depois de uma interrupção não repete nem perde erros (as inválidas só são relatadas
+     * aqui se gravarBloco ainda não as relatou). Se outro processo já registrou a linha, o resto
+     * do bloco é deixado para ele
+     */
+    private void gravarLinhaALinha(Bloco bloco, List<Map<String, String>> campos, List<String> mensagens,
+                                   boolean errosRelatados, RelatorioErros relatorio, Contadores contadores) throws IOException {
+        for (int i = 0; i < bloco.linhas.size(); i++) {
+            Linha linha = bloco.linhas.get(i);
+            Map<String, String> lidos = campos.get(i);
+            if (lidos == null && !errosRelatados) {
+                relatorio.registrar(List.of(linha), Collections.singletonList(mensagens.get(i)));
+                contadores.erros.incrementAndGet();
+            }
+            if (lidos != null) {
+                LoteImportacao importado = bloco.loteDaLinha(linha, 1, 0);
+                try {
+                    // Produto novo: os do bloco desfeito já receberam id e versão
+                    gravar(criarProduto(lidos), importado);
+                    contadores.importadas.incrementAndGet();
+                    continue;
+                } catch (RuntimeException e) {
+                    if (blocoRegistrado(importado.getChave())) {
+                        deixarParaOutroProcesso(bloco.linhas.size() - i, contadores);
+                        return;
+                    }
+                    relatorio.registrar(List.of(linha), List.of(mensagemRaiz(e)));
+                    contadores.erros.incrementAndGet();
+                }
+            }
+            LoteImportacao comErro = bloco.loteDaLinha(linha, 0, 1);
+            try {
+                gravar(null, comErro);
+            } catch (RuntimeException e) {
+                if (blocoRegistrado(comErro.getChave())) {
+                    deixarParaOutroProcesso(bloco.linhas.size() - i, contadores);
+                    return;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /** Grava o produto (se houver) e o registro da linha numa transação */
+    private static void gravar(Produto produto, LoteImportacao lote) {
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            if (produto != null) {
+                em.persist(produto);
+            }
+            em.persist(lote);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void deixarParaOutroProcesso(int restantes, Contadores contadores) {
+        contadores.lidas.addAndGet(-restantes);
+        contadores.jaImportadas.addAndGet(restantes);
+    }
+
+    private static boolean blocoRegistrado(String chave) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return em.find(LoteImportacao.class, chave) != null;
+        } finally {
+            em.close();
+        }
+    }
+
+    /** SHA-256 do arquivo em hexadecimal; lê o arquivo uma vez antes da importação */
+    private static String hashConteudo(Path arquivo) throws IOException {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+        try (InputStream entrada = new DigestInputStream(Files.newInputStream(arquivo), sha)) {
+            entrada.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    /** Faixas de linhas dos blocos já gravados deste conteúdo, em ordem */
+    private static List<int[]> blocosImportados(String hash) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            List<int[]> faixas = new ArrayList<>();
+            em.createQuery("SELECT l.linhaInicial, l.linhaFinal FROM LoteImportacao l WHERE l.hash = :hash " +
+                           "ORDER BY l.linhaInicial", Object[].class)
+                .setParameter("hash", hash)
+                .getResultList()
+                .forEach(faixa -> faixas.add(new int[] {(Integer) faixa[0], (Integer) faixa[1]}));
+            return faixas;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Monta e valida o produto pelas regras de ProdutoDigitalFactory/ProdutoFisicoFactory
+     * @throws IllegalArgumentException se algum campo for inválido
+     */
+    static Produto criarProduto(Map<String, String> campos) {
+        String preco = campos.get("preco");
+        if (preco == null) {
+            throw new IllegalArgumentException("Preço é obrigatório");
+        }
+        return ProdutoFactoryProvider.criarFactory(
+                campos.get("tipo"),
+                campos.get("nome"),
+                numero("preco", preco, Dinheiro::parse),
+                campos.get("descricao"),
+                numero("peso", campos.get("peso"), texto -> Double.valueOf(texto.replace(',', '.'))),
+                numero("estoque", campos.get("estoque"), Integer::valueOf),
+                campos.get("url_download"),
+                numero("tamanho_arquivo", campos.get("tamanho_arquivo"), Integer::valueOf))
+            .semLog()
+            .criarProdutoCompleto();
+    }
+
+    private static <T> T numero(String campo, String texto, Function<String, T> conversor) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return conversor.apply(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + texto);
+        }
+    }
+
+    private static String mensagemRaiz(Throwable e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+
+    private record Linha(int numero, String texto) {}
+
+    private record Bloco(String hash, String arquivo, List<Linha> linhas) {
+        LoteImportacao lote(int importados, int erros) {
+            return new LoteImportacao(hash, arquivo, linhas.get(0).numero, linhas.get(linhas.size() - 1).numero, importados, erros);
+        }
+
+        LoteImportacao loteDaLinha(Linha linha, int importados, int erros) {
+            return new LoteImportacao(hash, arquivo, linha.numero, linha.numero, importados, erros);
+        }
+    }
+
+    private static class Contadores {
+        final AtomicLong lidas = new AtomicLong();
+        final AtomicLong importadas = new AtomicLong();
+        final AtomicLong erros = new AtomicLong();
+        final AtomicLong jaImportadas = new AtomicLong();
+    }
+
+    /** Percorre as faixas já importadas junto com a leitura (as linhas chegam em ordem) */
+    private static class FaixasImportadas {
+        private final List<int[]> faixas;
+        private int atual;
+
+        FaixasImportadas(List<int[]> faixas) {
+            this.faixas = faixas;
+        }
+
+        boolean contem(int linha) {
+            while (atual < faixas.size() && faixas.get(atual)[1] < linha) {
+                atual++;
+            }
+            return atual < faixas.size() && faixas.get(atual)[0] <= linha;
+        }
+    }
+
+    /**
+     * CSV linha,erro aberto para acréscimo só no primeiro erro; compartilhado pelas threads
+     * Os erros de cada bloco são gravados de uma vez e com flush, para não se perderem se o processo cair
+     */
+    private static class RelatorioErros implements Closeable {
+        private final Path arquivo;
+        private BufferedWriter saida;
+
+        RelatorioErros(Path arquivo) {
+            this.arquivo = arquivo;
+        }
+
+        synchronized void registrar(List<Linha> linhas, List<String> erros) throws IOException {
+            if (linhas.isEmpty()) {
+                return;
+            }
+            if (saida == null) {
+                boolean novo = !Files.exists(arquivo);
+                saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (novo) {
+                    saida.write("linha,erro\r\n");
+                }
+            }
+            for (int i = 0; i < linhas.size(); i++) {
+                String erro = erros.get(i);
+                String texto = erro != null ? erro.replace("\r", " ").replace("\n", " ") : "";
+                saida.write(linhas.get(i).numero + ",\"" + texto.replace("\"", "\"\"") + "\"\r\n");
+            }
+            saida.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (saida != null) {
+                saida.close();
+            }
+        }
+    }
+
+    private static class FabricaThreads implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarefa) {
+            Thread thread = new Thread(tarefa, "importacao-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Uso: ImportadorProdutos &lt;arquivo.csv|arquivo.jsonl&gt;
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: ImportadorProdutos <arquivo.csv|arquivo.jsonl>");
+            System.exit(1);
+        }
+        try {
+            ResultadoImportacao resultado = new ImportadorProdutos().importar(Path.of(args[0]));
+            System.out.println("✅ " + resultado);
+            if (resultado.erros() > 0) {
+                System.out.println("⚠️ Linhas com erro em " + resultado.arquivoErros());
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Erro ao ler " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println("❌ " + e.getMessage());
+            System.exit(1);
+        } finally {
+            JPAUtil.close();
+        }
+    }
+}
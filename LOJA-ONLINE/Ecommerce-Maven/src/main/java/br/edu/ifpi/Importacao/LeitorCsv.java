@@ -0,0 +1,76 @@
+package br.edu.ifpi.Importacao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV separado por vírgula, com aspas no estilo RFC 4180 ("" dentro de aspas é uma aspa)
+ * Quebras de linha dentro de aspas não são aceitas: cada produto ocupa uma linha
+ */
+class LeitorCsv extends LeitorProdutos {
+    private String[] colunas;
+
+    @Override
+    boolean temCabecalho() {
+        return true;
+    }
+
+    @Override
+    void cabecalho(String linha) {
+        List<String> nomes = dividir(linha);
+        colunas = new String[nomes.size()];
+        for (int i = 0; i < colunas.length; i++) {
+            colunas[i] = nomes.get(i).trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Override
+    Map<String, String> ler(String linha) {
+        List<String> valores = dividir(linha);
+        if (valores.size() > colunas.length) {
+            throw new IllegalArgumentException("Linha com " + valores.size() + " colunas, cabeçalho tem " + colunas.length);
+        }
+        Map<String, String> campos = new HashMap<>();
+        for (int i = 0; i < valores.size(); i++) {
+            String valor = valores.get(i).trim();
+            if (!valor.isEmpty()) {
+                campos.put(colunas[i], valor);
+            }
+        }
+        return campos;
+    }
+
+    private static List<String> dividir(String linha) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+}
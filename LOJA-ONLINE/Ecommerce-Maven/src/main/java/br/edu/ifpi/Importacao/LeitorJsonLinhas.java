@@ -0,0 +1,146 @@
+package br.edu.ifpi.Importacao;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON Lines com objetos planos: valores texto, número, true/false ou null
+ * (objetos e listas aninhados são rejeitados). Números são mantidos como texto
+ * para o preço passar por Dinheiro.parse sem virar double
+ */
+class LeitorJsonLinhas extends LeitorProdutos {
+
+    @Override
+    boolean temCabecalho() {
+        return false;
+    }
+
+    @Override
+    void cabecalho(String linha) {
+        // JSON Lines não tem cabeçalho
+    }
+
+    @Override
+    Map<String, String> ler(String linha) {
+        return new Analisador(linha).objeto();
+    }
+
+    /** Analisador descendente de um único objeto; uma instância por linha */
+    private static class Analisador {
+        private final String texto;
+        private int posicao;
+
+        Analisador(String texto) {
+            this.texto = texto;
+        }
+
+        Map<String, String> objeto() {
+            Map<String, String> campos = new HashMap<>();
+            esperar('{');
+            if (!consumir('}')) {
+                do {
+                    String nome = textoJson().toLowerCase(Locale.ROOT);
+                    esperar(':');
+                    String valor = valor();
+                    if (valor != null && !valor.isBlank()) {
+                        campos.put(nome, valor.trim());
+                    }
+                } while (consumir(','));
+                esperar('}');
+            }
+            pularEspacos();
+            if (posicao < texto.length()) {
+                throw erro("conteúdo depois do objeto");
+            }
+            return campos;
+        }
+
+        private String valor() {
+            pularEspacos();
+            if (posicao >= texto.length()) {
+                throw erro("valor ausente");
+            }
+            char c = texto.charAt(posicao);
+            if (c == '"') {
+                return textoJson();
+            }
+            if (c == '{' || c == '[') {
+                throw erro("objetos e listas aninhados não são suportados");
+            }
+            int inicio = posicao;
+            while (posicao < texto.length() && ",} \t".indexOf(texto.charAt(posicao)) < 0) {
+                posicao++;
+            }
+            String literal = texto.substring(inicio, posicao);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.isEmpty() || !(literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?"))) {
+                throw erro("valor inválido '" + literal + "'");
+            }
+            return literal;
+        }
+
+        private String textoJson() {
+            esperar('"');
+            StringBuilder resultado = new StringBuilder();
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao++);
+                if (c == '"') {
+                    return resultado.toString();
+                }
+                if (c != '\\') {
+                    resultado.append(c);
+                    continue;
+                }
+                if (posicao >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(posicao++);
+                switch (escape) {
+                    case '"', '\\', '/' -> resultado.append(escape);
+                    case 'b' -> resultado.append('\b');
+                    case 'f' -> resultado.append('\f');
+                    case 'n' -> resultado.append('\n');
+                    case 'r' -> resultado.append('\r');
+                    case 't' -> resultado.append('\t');
+                    case 'u' -> {
+                        if (posicao + 4 > texto.length()) {
+                            throw erro("escape \\u incompleto");
+                        }
+                        resultado.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                        posicao += 4;
+                    }
+                    default -> throw erro("escape inválido \\" + escape);
+                }
+            }
+            throw erro("texto não fechado");
+        }
+
+        private void esperar(char esperado) {
+            if (!consumir(esperado)) {
+                throw erro("esperado '" + esperado + "'");
+            }
+        }
+
+        private boolean consumir(char c) {
+            pularEspacos();
+            if (posicao < texto.length() && texto.charAt(posicao) == c) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        private void pularEspacos() {
+            while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+
+        private IllegalArgumentException erro(String mensagem) {
+            return new IllegalArgumentException("JSON inválido na coluna " + (posicao + 1) + ": " + mensagem);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.ifpi.Importacao;
+
+import java.util.Map;
+
+/**
+ * Transforma uma linha do arquivo nos campos de um produto (nome da coluna → texto)
+ * Depois do cabeçalho o leitor não muda de estado, então ler pode rodar em várias threads
+ */
+abstract class LeitorProdutos {
+
+    /** Formatos com cabeçalho recebem aqui a primeira linha não vazia do arquivo */
+    abstract boolean temCabecalho();
+
+    abstract void cabecalho(String linha);
+
+    /**
+     * Campos ausentes ou vazios ficam de fora do mapa
+     * @throws IllegalArgumentException se a linha estiver mal formada
+     */
+    abstract Map<String, String> ler(String linha);
+}
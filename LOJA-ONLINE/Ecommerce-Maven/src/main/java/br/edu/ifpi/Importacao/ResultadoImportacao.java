@@ -0,0 +1,26 @@
+package br.edu.ifpi.Importacao;
+
+import java.nio.file.Path;
+
+/**
+ * Resumo de uma execução de ImportadorProdutos
+ * @param lidas linhas de produto processadas nesta execução
+ * @param importadas produtos gravados
+ * @param erros linhas recusadas (detalhes em arquivoErros)
+ * @param jaImportadas linhas puladas por já estarem num bloco importado antes
+ * @param arquivoErros CSV linha,erro; só existe se houve erro
+ */
+public record ResultadoImportacao(long lidas, long importadas, long erros, long jaImportadas,
+                                  long tempoMs, Path arquivoErros) {
+
+    /** Produtos gravados por segundo */
+    public long porSegundo() {
+        return tempoMs > 0 ? importadas * 1000 / tempoMs : importadas;
+    }
+
+    @Override
+    public String toString() {
+        return lidas + " linhas lidas, " + importadas + " produtos importados, " + erros + " com erro, " +
+               jaImportadas + " já importadas antes | " + tempoMs + " ms (" + porSegundo() + " produtos/s)";
+    }
+}
@@ -1,23 +1,272 @@
 package br.edu.ifpi;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import javax.cache.CacheManager;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class JPAUtil {
-    private static final EntityManagerFactory emf = Persistence.createEntityManagerFactory("EcommercePU");
+    private static final MetricasPool metricas = new MetricasPool();
+    private static final boolean cacheAtivo = Configuracao.getBoolean("ecommerce.cache.ativo", true);
+    private static CompletableFuture<Recursos> inicializacao;
+    private static volatile long tempoInicializacaoMs = -1;
 
+    /** Pool, cache e factory, criados juntos por inicializar() */
+    private record Recursos(HikariDataSource dataSource, CacheManager cacheManager, EntityManagerFactory emf) {}
+
+    /**
+     * Começa a subir pool, migrações e Hibernate numa thread separada, para o console
+     * (tela de login) ficar disponível enquanto isso. Chamadas repetidas não fazem nada;
+     * sem esta chamada a inicialização acontece no primeiro getEntityManager()
+     */
+    public static synchronized void iniciarEmSegundoPlano() {
+        if (inicializacao == null) {
+            inicializacao = CompletableFuture.supplyAsync(JPAUtil::inicializar, tarefa -> {
+                Thread thread = new Thread(tarefa, "jpa-inicializacao");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        }
+    }
+
+    private static Recursos inicializar() {
+        long inicio = System.nanoTime();
+        HikariDataSource dataSource = criarDataSource();
+        CacheManager cacheManager = cacheAtivo ? CacheSegundoNivel.criarCacheManager() : null;
+        EntityManagerFactory emf = criarEntityManagerFactory(dataSource, cacheManager);
+        tempoInicializacaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        return new Recursos(dataSource, cacheManager, emf);
+    }
+
+    /**
+     * Espera a inicialização terminar (iniciando-a se preciso).
+     * Falhas da inicialização são relançadas a cada chamada
+     */
+    private static Recursos recursos() {
+        iniciarEmSegundoPlano();
+        try {
+            return inicializacao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+
+    /** Recursos já criados (esperando a inicialização em andamento), ou null se nunca iniciou ou falhou */
+    private static Recursos recursosSeIniciado() {
+        CompletableFuture<Recursos> futuro;
+        synchronized (JPAUtil.class) {
+            futuro = inicializacao;
+        }
+        if (futuro == null) {
+            return null;
+        }
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    /** true quando a inicialização já terminou com sucesso */
+    public static synchronized boolean isIniciado() {
+        return inicializacao != null && inicializacao.isDone() && !inicializacao.isCompletedExceptionally();
+    }
+
+    /** Duração da inicialização (pool + migrações + Hibernate), ou -1 se ainda não terminou */
+    public static long getTempoInicializacaoMs() {
+        return tempoInicializacaoMs;
+    }
+
+    /**
+     * Cria o pool de conexões a partir de ecommerce.properties
+     */
+    private static HikariDataSource criarDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("EcommercePool");
+        String url = Configuracao.get("ecommerce.banco.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Banco não configurado para o perfil " + Configuracao.get("ecommerce.banco.perfil") +
+                    ": defina ECOMMERCE_BANCO_URL, ECOMMERCE_BANCO_USUARIO e ECOMMERCE_BANCO_SENHA");
+        }
+        config.setJdbcUrl(url);
+        config.setUsername(Configuracao.get("ecommerce.banco.usuario"));
+        config.setPassword(Configuracao.get("ecommerce.banco.senha"));
+        config.setMinimumIdle(Configuracao.getInt("ecommerce.pool.minimo", 2));
+        config.setMaximumPoolSize(Configuracao.getInt("ecommerce.pool.maximo", 10));
+        config.setConnectionTimeout(Configuracao.getLong("ecommerce.pool.timeout-conexao-ms", 10000));
+        config.setKeepaliveTime(Configuracao.getLong("ecommerce.pool.keepalive-ms", 60000));
+        config.setMaxLifetime(Configuracao.getLong("ecommerce.pool.vida-maxima-ms", 600000));
+        config.setMetricsTrackerFactory(metricas);
+        // Propriedades do driver (ex: prepareThreshold do pgjdbc), definidas no perfil de banco
+        Configuracao.getComPrefixo("ecommerce.jdbc.driver.").forEach(config::addDataSourceProperty);
+
+        HikariDataSource ds = new HikariDataSource(config);
+        if (Configuracao.getBoolean("ecommerce.pool.aquecer", true)) {
+            aquecer(ds, config.getMinimumIdle());
+        }
+        return ds;
+    }
+
+    /**
+     * Abre as conexões mínimas do pool antes do primeiro uso,
+     * assim a primeira operação dos DAOs não paga o handshake TLS/autenticação
+     */
+    private static void aquecer(HikariDataSource ds, int quantidade) {
+        List<Connection> conexoes = new ArrayList<>();
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                conexoes.add(ds.getConnection());
+            }
+        } catch (SQLException e) {
+            System.out.println("⚠️ Não foi possível aquecer o pool: " + e.getMessage());
+        } finally {
+            for (Connection conexao : conexoes) {
+                try {
+                    conexao.close();
+                } catch (SQLException ignorada) {
+                    // Conexão já devolvida ao pool
+                }
+            }
+        }
+    }
+
+    /**
+     * Aplica as migrações versionadas de db/migracao antes do Hibernate subir.
+     * Bancos criados antes das migrações são marcados como baseline na versão 1
+     */
+    private static void migrarEsquema(HikariDataSource dataSource) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migracao")
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+    }
+
+    /**
+     * ecommerce.banco.esquema vira hibernate.hbm2ddl.auto: "validate" confere as tabelas
+     * contra as entidades, "none" não consulta o catálogo (o Flyway já garante a versão)
+     */
+    private static EntityManagerFactory criarEntityManagerFactory(HikariDataSource dataSource, CacheManager cacheManager) {
+        if (Configuracao.getBoolean("ecommerce.banco.migrar", true)) {
+            migrarEsquema(dataSource);
+        }
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("jakarta.persistence.nonJtaDataSource", dataSource);
+        propriedades.put("hibernate.dialect", Configuracao.get("ecommerce.banco.dialeto", "org.hibernate.dialect.PostgreSQLDialect"));
+        propriedades.put("hibernate.hbm2ddl.auto", Configuracao.get("ecommerce.banco.esquema", "validate"));
+        propriedades.put("hibernate.jdbc.batch_size", Configuracao.getInt("ecommerce.jdbc.tamanho-lote", 50));
+        propriedades.put("hibernate.cache.use_second_level_cache", cacheAtivo);
+        if (cacheAtivo) {
+            propriedades.put("hibernate.javax.cache.cache_manager", cacheManager);
+        }
+        propriedades.put("hibernate.generate_statistics", Configuracao.getBoolean("ecommerce.cache.estatisticas", true));
+        int tamanhoBusca = Configuracao.getInt("ecommerce.jdbc.tamanho-busca", 0);
+        if (tamanhoBusca > 0) {
+            propriedades.put("hibernate.jdbc.fetch_size", tamanhoBusca);
+        }
+        // Qualquer ecommerce.hibernate.* vai direto, e por último (ex: ecommerce.hibernate.order_updates=false)
+        Configuracao.getComPrefixo("ecommerce.hibernate.").forEach((chave, valor) -> propriedades.put("hibernate." + chave, valor));
+        return Persistence.createEntityManagerFactory("EcommercePU", propriedades);
+    }
+
+    /**
+     * Leituras só para exibição ficam com os métodos *SomenteLeitura dos DAOs
+     * (ver ConsultaSomenteLeitura); este EntityManager grava normalmente em qualquer perfil
+     */
     public static EntityManager getEntityManager() {
-        return emf.createEntityManager();
+        return recursos().emf().createEntityManager();
+    }
+
+    /**
+     * Tira uma entidade do cache de segundo nível, para alterações feitas
+     * por SQL direto (fora do EntityManager)
+     */
+    public static void removerDoCache(Class<?> classe, Object id) {
+        recursos().emf().getCache().evict(classe, id);
+    }
+
+    /**
+     * Retorna as estatísticas atuais do pool de conexões
+     * (conexões ativas, ociosas, threads aguardando e tempo de espera)
+     */
+    public static EstatisticasPool getEstatisticasPool() {
+        HikariPoolMXBean pool = recursos().dataSource().getHikariPoolMXBean();
+        return new EstatisticasPool(
+            pool.getActiveConnections(),
+            pool.getIdleConnections(),
+            pool.getTotalConnections(),
+            pool.getThreadsAwaitingConnection(),
+            metricas.getAquisicoes(),
+            metricas.getEsperaMediaMs(),
+            metricas.getEsperaMaximaMs(),
+            metricas.getTimeouts());
+    }
+
+    /**
+     * Retorna acertos/faltas de cada região do cache de segundo nível
+     * (zerados se ecommerce.cache.estatisticas estiver desligado)
+     */
+    public static List<EstatisticasCache> getEstatisticasCache() {
+        Recursos recursos = recursos();
+        Statistics estatisticas = recursos.emf().unwrap(SessionFactory.class).getStatistics();
+        List<EstatisticasCache> resultado = new ArrayList<>();
+        if (!cacheAtivo) {
+            return resultado;
+        }
+        for (String regiao : CacheSegundoNivel.REGIOES) {
+            CacheRegionStatistics regiaoStats = estatisticas.getDomainDataRegionStatistics(regiao);
+            resultado.add(new EstatisticasCache(regiao,
+                regiaoStats.getHitCount(),
+                regiaoStats.getMissCount(),
+                regiaoStats.getPutCount(),
+                CacheSegundoNivel.tamanho(recursos.cacheManager(), regiao)));
+        }
+        return resultado;
     }
 
     /**
      * Fecha o EntityManagerFactory para evitar vazamento de memória
-     * Deve ser chamado no shutdown da aplicação
+     * Deve ser chamado no shutdown da aplicação; espera uma inicialização em andamento
      */
     public static void close() {
+        Recursos recursos = recursosSeIniciado();
+        if (recursos == null) {
+            return;
+        }
+        EntityManagerFactory emf = recursos.emf();
+        CacheManager cacheManager = recursos.cacheManager();
+        HikariDataSource dataSource = recursos.dataSource();
         if (emf != null && emf.isOpen()) {
             emf.close();
         }
+        if (cacheManager != null && !cacheManager.isClosed()) {
+            cacheManager.close();
+        }
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+        }
     }
 }
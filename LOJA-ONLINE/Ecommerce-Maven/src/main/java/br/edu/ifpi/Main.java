@@ -5,6 +5,31 @@ import java.util.InputMismatchException;
 
 public class Main {
     
+    /** Quantidade de linhas por página nas listagens do console */
+    private static final int TAMANHO_PAGINA = Configuracao.getInt("ecommerce.console.tamanho-pagina", 20);
+    
+    /**
+     * Pergunta se o usuário quer ver a próxima página de uma listagem
+     * @return true para continuar, false para voltar ao menu
+     */
+    private static boolean continuarPaginacao(Scanner scanner) {
+        System.out.print("\n⏭️  ENTER para a próxima página ou 0 para voltar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+    
+    /**
+     * Lê um preço digitado como "12", "12.5" ou "12,50", sem passar por double
+     * @return o preço, ou null se a linha não for um valor positivo válido
+     */
+    private static br.edu.ifpi.Model.Dinheiro lerPreco(Scanner scanner) {
+        try {
+            br.edu.ifpi.Model.Dinheiro preco = br.edu.ifpi.Model.Dinheiro.parse(scanner.nextLine());
+            return preco.isPositivo() ? preco : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
     /**
      * Gera código de boleto baseado no pedido
      * Formato: XXXXX.XXXXX XXXXX.XXXXXX XXXXX.XXXXXX X XXXXXXXXXXXXX
@@ -15,29 +40,21 @@ public class Main {
         String parte1 = String.format("%05d", pedido.getNumeroPedido() % 100000);
         String parte2 = String.format("%05d", (timestamp / 1000) % 100000);
         String parte3 = String.format("%05d", pedido.getCliente().getId() % 100000);
-        String parte4 = String.format("%06d", (int)(pedido.getTotal() * 100) % 1000000);
+        String parte4 = String.format("%06d", pedido.getTotal().centavos() % 1000000);
         String parte5 = String.format("%05d", (timestamp / 10000) % 100000);
         String parte6 = String.format("%06d", pedido.getNumeroPedido() % 1000000);
         String digitoVerificador = "1"; // Simplificado
-        String valorCodificado = String.format("%014d", (long)(pedido.getTotal() * 100));
+        String valorCodificado = String.format("%014d", pedido.getTotal().centavos());
         
         return String.format("%s.%s %s.%s %s.%s %s %s",
             parte1, parte2, parte3, parte4, parte5, parte6, digitoVerificador, valorCodificado);
     }
     
     /**
-     * Formata data de YYYY-MM-DD para DD/MM/YYYY
+     * Formata a data como DD/MM/YYYY
      */
-    private static String formatarData(String data) {
-        try {
-            String[] partes = data.split("-");
-            if (partes.length == 3) {
-                return partes[2] + "/" + partes[1] + "/" + partes[0];
-            }
-        } catch (Exception e) {
-            // Se falhar, retorna data original
-        }
-        return data;
+    private static String formatarData(java.time.LocalDate data) {
+        return data.format(br.edu.ifpi.Model.Boleto.FORMATO_VENCIMENTO);
     }
     
     /**
@@ -63,19 +80,11 @@ public class Main {
                 System.out.print("🔒 Senha: ");
                 String senha = scanner.nextLine().trim();
                 
-                // Busca administrador por email
-                java.util.List<br.edu.ifpi.Model.Administrador> admins = adminDAO.listarTodos();
-                br.edu.ifpi.Model.Administrador adminEncontrado = null;
-                
-                for (br.edu.ifpi.Model.Administrador admin : admins) {
-                    if (admin.getEmail().equalsIgnoreCase(email)) {
-                        adminEncontrado = admin;
-                        break;
-                    }
-                }
+                // Busca administrador por email (sem diferenciar maiúsculas, pelo índice em lower(email))
+                br.edu.ifpi.Model.Administrador adminEncontrado = email.isEmpty() ? null : adminDAO.buscarPorEmail(email);
                 
                 // Se não encontrou nenhum admin e é a primeira tentativa, cria o admin padrão
-                if (admins.isEmpty() && tentativas == 0) {
+                if (adminEncontrado == null && tentativas == 0 && !adminDAO.existeAlgum()) {
                     System.out.println("\n⚠️  Nenhum administrador cadastrado!");
                     System.out.println("📋 Criando administrador padrão...");
                     br.edu.ifpi.Model.Administrador adminPadrao = new br.edu.ifpi.Model.Administrador(
@@ -118,10 +127,20 @@ public class Main {
         // Adiciona shutdown hook para fechar recursos
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("\n🔒 Fechando recursos do sistema...");
+            if (JPAUtil.isIniciado()) {
+                System.out.println("⏱️  Inicialização do banco: " + JPAUtil.getTempoInicializacaoMs() + " ms");
+                System.out.println("📊 Pool de conexões: " + JPAUtil.getEstatisticasPool());
+                for (EstatisticasCache cache : JPAUtil.getEstatisticasCache()) {
+                    System.out.println("🗃️  Cache " + cache);
+                }
+            }
             JPAUtil.close();
             System.out.println("✅ Sistema encerrado com sucesso!");
         }));
 
+        // Hibernate sobe enquanto o usuário digita o login
+        JPAUtil.iniciarEmSegundoPlano();
+
         Scanner scanner = new Scanner(System.in);
         
         System.out.println("\n╔═══════════════════════════════════════╗");
@@ -148,6 +167,7 @@ public class Main {
                 System.out.println("4. Gerenciar Produto Físico");
                 System.out.println("5. Gerenciar Pedidos (com Itens)");  // ← MUDANÇA
                 System.out.println("6. Gerenciar Pagamentos");            // ← MUDANÇA: numeração
+                System.out.println("7. Importar Catálogo de Produtos (CSV/JSONL)");
                 System.out.println("0. Sair");
                 System.out.println("====================================");
                 System.out.print("Escolha uma opção: ");
@@ -180,11 +200,14 @@ public class Main {
                     case 6:  // ← MUDANÇA: era 7
                         menuPagamentos(scanner);
                         break;
+                    case 7:
+                        importarCatalogo(scanner);
+                        break;
                     case 0:
                         System.out.println("\n👋 Até logo! Encerrando sistema...");
                         break;
                     default:
-                        System.out.println("❌ Opção inválida! Digite um número entre 0 e 6.");  // ← MUDANÇA
+                        System.out.println("❌ Opção inválida! Digite um número entre 0 e 7.");
                 }
                 
             } catch (InputMismatchException e) {
@@ -200,6 +223,25 @@ public class Main {
         scanner.close();
     }
 
+    /**
+     * Importação de catálogo a partir de arquivo (ver ImportadorProdutos)
+     * Rodar de novo com o mesmo arquivo retoma a partir do último bloco gravado
+     */
+    private static void importarCatalogo(Scanner scanner) {
+        System.out.print("Arquivo do catálogo (.csv ou .jsonl): ");
+        String caminho = scanner.nextLine().trim();
+        try {
+            br.edu.ifpi.Importacao.ResultadoImportacao resultado =
+                new br.edu.ifpi.Importacao.ImportadorProdutos().importar(java.nio.file.Path.of(caminho));
+            System.out.println("✅ " + resultado);
+            if (resultado.erros() > 0) {
+                System.out.println("⚠️ Linhas com erro em " + resultado.arquivoErros());
+            }
+        } catch (IllegalArgumentException | IllegalStateException | java.io.IOException e) {
+            System.out.println("❌ Erro na importação: " + e.getMessage());
+        }
+    }
+
     private static void menuProdutoDigital(Scanner scanner) {
         br.edu.ifpi.DAO.ProdutoDigitalDAO dao = new br.edu.ifpi.DAO.ProdutoDigitalDAO();
         int opcao;
@@ -224,11 +266,10 @@ public class Main {
                     }
                     
                     System.out.print("Preço: ");
-                    double preco = scanner.nextDouble();
-                    scanner.nextLine();
+                    br.edu.ifpi.Model.Dinheiro preco = lerPreco(scanner);
                     
-                    if (preco <= 0) {
-                        System.out.println("❌ Preço deve ser maior que zero!");
+                    if (preco == null) {
+                        System.out.println("❌ Preço deve ser um valor maior que zero, com até 2 casas decimais!");
                         break;
                     }
                     
@@ -276,8 +317,15 @@ public class Main {
                     break;
                 case 2:
                     System.out.println("-- Lista de Produtos Digitais --");
-                    for (br.edu.ifpi.Model.ProdutoDigital p : dao.listarTodos()) {
-                        System.out.println("ID: " + p.getId() + " | Nome: " + p.getNome() + " | Preço: " + p.getPreco() + " | URL: " + p.getUrlDownload());
+                    br.edu.ifpi.DAO.Pagina<br.edu.ifpi.Model.ProdutoDigital> paginaDigitais = dao.listarPaginaSomenteLeitura(null, TAMANHO_PAGINA);
+                    while (true) {
+                        for (br.edu.ifpi.Model.ProdutoDigital p : paginaDigitais.getItens()) {
+                            System.out.println("ID: " + p.getId() + " | Nome: " + p.getNome() + " | Preço: " + p.getPreco().formatar() + " | URL: " + p.getUrlDownload());
+                        }
+                        if (!paginaDigitais.temProxima() || !continuarPaginacao(scanner)) {
+                            break;
+                        }
+                        paginaDigitais = dao.listarPaginaSomenteLeitura(paginaDigitais.getUltimoId(), TAMANHO_PAGINA);
                     }
                     break;
                 case 3:
@@ -288,46 +336,53 @@ public class Main {
                     if (produtoEdit != null) {
                         System.out.println("\n--- Editando: " + produtoEdit.getNome() + " ---");
                         
+                        // Só os campos informados são gravados (null mantém o valor atual)
                         System.out.print("Novo nome (atual: " + produtoEdit.getNome() + "): ");
                         String novoNome = scanner.nextLine();
-                        if (novoNome != null && !novoNome.trim().isEmpty()) {
-                            produtoEdit.setNome(novoNome);
+                        if (novoNome == null || novoNome.trim().isEmpty()) {
+                            novoNome = null;
                         }
                         
-                        System.out.print("Novo preço (atual: R$ " + produtoEdit.getPreco() + "): ");
-                        double novoPreco = scanner.nextDouble();
-                        scanner.nextLine();
-                        if (novoPreco <= 0) {
+                        System.out.print("Novo preço (atual: " + produtoEdit.getPreco().formatar() + "): ");
+                        br.edu.ifpi.Model.Dinheiro novoPreco = lerPreco(scanner);
+                        if (novoPreco == null) {
                             System.out.println("⚠️ Preço inválido, mantendo preço atual.");
-                        } else {
-                            produtoEdit.setPreco(novoPreco);
                         }
                         
                         System.out.print("Nova descrição: ");
                         String novaDesc = scanner.nextLine();
-                        if (novaDesc != null && !novaDesc.trim().isEmpty()) {
-                            produtoEdit.setDescricao(novaDesc);
+                        if (novaDesc == null || novaDesc.trim().isEmpty()) {
+                            novaDesc = null;
                         }
                         
                         System.out.print("Nova URL (atual: " + produtoEdit.getUrlDownload() + "): ");
                         String novaUrl = scanner.nextLine();
-                        if (novaUrl != null && !novaUrl.trim().isEmpty()) {
-                            if (!novaUrl.startsWith("http://") && !novaUrl.startsWith("https://")) {
-                                System.out.println("⚠️ ATENÇÃO: URL deve começar com http:// ou https://");
-                                System.out.print("Deseja continuar mesmo assim? (S/N): ");
-                                String continuar = scanner.nextLine().trim().toUpperCase();
-                                if (continuar.equals("S") || continuar.equals("SIM")) {
-                                    produtoEdit.setUrlDownload(novaUrl);
-                                } else {
-                                    System.out.println("⚠️ URL não atualizada.");
-                                }
-                            } else {
-                                produtoEdit.setUrlDownload(novaUrl);
+                        if (novaUrl == null || novaUrl.trim().isEmpty()) {
+                            novaUrl = null;
+                        } else if (!novaUrl.startsWith("http://") && !novaUrl.startsWith("https://")) {
+                            System.out.println("⚠️ ATENÇÃO: URL deve começar com http:// ou https://");
+                            System.out.print("Deseja continuar mesmo assim? (S/N): ");
+                            String continuar = scanner.nextLine().trim().toUpperCase();
+                            if (!continuar.equals("S") && !continuar.equals("SIM")) {
+                                System.out.println("⚠️ URL não atualizada.");
+                                novaUrl = null;
                             }
                         }
                         
-                        dao.atualizar(produtoEdit);
-                        System.out.println("✅ Produto digital atualizado!");
+                        // UPDATEs só das colunas alteradas, numa transação (sem merge do produto lido antes)
+                        br.edu.ifpi.DAO.ProdutoDAO produtoDAO = new br.edu.ifpi.DAO.ProdutoDAO();
+                        String nomeAlterado = novoNome;
+                        String descAlterada = novaDesc;
+                        String urlAlterada = novaUrl;
+                        boolean atualizado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em ->
+                            produtoDAO.atualizarDados(em, idEdit, nomeAlterado, descAlterada, null)
+                                && (novoPreco == null || produtoDAO.atualizarPreco(em, idEdit, novoPreco))
+                                && (urlAlterada == null || dao.atualizarUrl(em, idEdit, urlAlterada)));
+                        if (atualizado) {
+                            System.out.println("✅ Produto digital atualizado!");
+                        } else {
+                            System.out.println("❌ Erro ao atualizar o produto.");
+                        }
                     } else {
                         System.out.println("❌ Produto não encontrado.");
                     }
@@ -346,39 +401,30 @@ public class Main {
                         
                         // Verificar se produto está em algum item de pedido
                         br.edu.ifpi.DAO.ItemPedidoDAO itemDAO = new br.edu.ifpi.DAO.ItemPedidoDAO();
-                        java.util.List<br.edu.ifpi.Model.ItemPedido> itensComProduto = new java.util.ArrayList<>();
-                        
-                        for (br.edu.ifpi.Model.ItemPedido item : itemDAO.listarTodos()) {
-                            if (item.getProduto() != null && item.getProduto().getId().equals(produtoRem.getId())) {
-                                itensComProduto.add(item);
-                            }
-                        }
+                        long itensComProduto = itemDAO.contarPorProduto(produtoRem.getId());
                         
                         System.out.println("\n--- INFORMAÇÕES DO PRODUTO ---");
                         System.out.println("📦 Nome: " + produtoRem.getNome());
-                        System.out.println("💰 Preço: R$ " + String.format("%.2f", produtoRem.getPreco()));
+                        System.out.println("💰 Preço: " + produtoRem.getPreco().formatar());
                         System.out.println("🔗 URL: " + produtoRem.getUrlDownload());
                         
-                        if (!itensComProduto.isEmpty()) {
-                            System.out.println("\n⚠️  Este produto está em " + itensComProduto.size() + " item(ns) de pedido(s).");
-                            System.out.println("💡 O produto será removido, mas os itens dos pedidos continuarão com a referência.");
+                        if (itensComProduto > 0) {
+                            System.out.println("\n⚠️  Este produto está em " + itensComProduto + " item(ns) de pedido(s).");
+                            System.out.println("💡 O produto sai do catálogo, mas os pedidos antigos continuam com ele (remoção lógica).");
                         }
                         
                         System.out.print("\n⚠️ Confirma a remoção do produto? (S/N): ");
                         String confirma = scanner.nextLine().trim().toUpperCase();
                         
                         if (confirma.equals("S") || confirma.equals("SIM")) {
-                            // Remover referência do produto nos itens antes de deletar o produto
-                            for (br.edu.ifpi.Model.ItemPedido item : itensComProduto) {
-                                item.setProduto(null);
-                                itemDAO.atualizar(item);
+                            // Remoção lógica: um UPDATE marca o produto como inativo; os itens dos pedidos não mudam
+                            if (!new br.edu.ifpi.DAO.ProdutoDAO().desativar(produtoRem.getId())) {
+                                System.out.println("❌ Erro ao remover o produto.");
+                                break;
                             }
-                            
-                            // Agora pode remover o produto
-                            dao.remover(produtoRem);
                             System.out.println("✅ Produto digital removido com sucesso!");
-                            if (!itensComProduto.isEmpty()) {
-                                System.out.println("⚠️  " + itensComProduto.size() + " item(ns) de pedido tiveram a referência ao produto removida.");
+                            if (itensComProduto > 0) {
+                                System.out.println("📦 " + itensComProduto + " item(ns) de pedido mantêm a referência ao produto.");
                             }
                         } else {
                             System.out.println("❌ Remoção cancelada.");
@@ -421,11 +467,10 @@ public class Main {
                     }
                     
                     System.out.print("Preço: ");
-                    double preco = scanner.nextDouble();
-                    scanner.nextLine();
+                    br.edu.ifpi.Model.Dinheiro preco = lerPreco(scanner);
                     
-                    if (preco <= 0) {
-                        System.out.println("❌ Preço deve ser maior que zero!");
+                    if (preco == null) {
+                        System.out.println("❌ Preço deve ser um valor maior que zero, com até 2 casas decimais!");
                         break;
                     }
                     
@@ -464,8 +509,15 @@ public class Main {
                     break;
                 case 2:
                     System.out.println("-- Lista de Produtos Físicos --");
-                    for (br.edu.ifpi.Model.ProdutoFisico p : dao.listarTodos()) {
-                        System.out.println("ID: " + p.getId() + " | Nome: " + p.getNome() + " | Preço: " + p.getPreco() + " | Peso: " + p.getPeso() + " | Estoque: " + p.getEstoque());
+                    br.edu.ifpi.DAO.Pagina<br.edu.ifpi.Model.ProdutoFisico> paginaFisicos = dao.listarPaginaSomenteLeitura(null, TAMANHO_PAGINA);
+                    while (true) {
+                        for (br.edu.ifpi.Model.ProdutoFisico p : paginaFisicos.getItens()) {
+                            System.out.println("ID: " + p.getId() + " | Nome: " + p.getNome() + " | Preço: " + p.getPreco().formatar() + " | Peso: " + p.getPeso() + " | Estoque: " + p.getEstoque());
+                        }
+                        if (!paginaFisicos.temProxima() || !continuarPaginacao(scanner)) {
+                            break;
+                        }
+                        paginaFisicos = dao.listarPaginaSomenteLeitura(paginaFisicos.getUltimoId(), TAMANHO_PAGINA);
                     }
                     break;
                 case 3:
@@ -477,58 +529,70 @@ public class Main {
                         System.out.println("\n--- Editando: " + produtoEdit.getNome() + " ---");
                         System.out.println("📦 Estoque atual: " + produtoEdit.getEstoque() + " unidades");
                         
+                        // Só os campos informados são gravados (null mantém o valor atual)
                         System.out.print("Novo nome (atual: " + produtoEdit.getNome() + "): ");
                         String novoNome = scanner.nextLine();
-                        if (novoNome != null && !novoNome.trim().isEmpty()) {
-                            produtoEdit.setNome(novoNome);
+                        if (novoNome == null || novoNome.trim().isEmpty()) {
+                            novoNome = null;
                         }
                         
-                        System.out.print("Novo preço (atual: R$ " + produtoEdit.getPreco() + "): ");
-                        double novoPreco = scanner.nextDouble();
-                        scanner.nextLine();
-                        if (novoPreco <= 0) {
+                        System.out.print("Novo preço (atual: " + produtoEdit.getPreco().formatar() + "): ");
+                        br.edu.ifpi.Model.Dinheiro novoPreco = lerPreco(scanner);
+                        if (novoPreco == null) {
                             System.out.println("⚠️ Preço inválido, mantendo preço atual.");
-                        } else {
-                            produtoEdit.setPreco(novoPreco);
                         }
                         
                         System.out.print("Nova descrição: ");
                         String novaDesc = scanner.nextLine();
-                        if (novaDesc != null && !novaDesc.trim().isEmpty()) {
-                            produtoEdit.setDescricao(novaDesc);
+                        if (novaDesc == null || novaDesc.trim().isEmpty()) {
+                            novaDesc = null;
                         }
                         
                         System.out.print("Novo peso (atual: " + produtoEdit.getPeso() + " kg): ");
-                        double novoPeso = scanner.nextDouble();
+                        Double novoPeso = scanner.nextDouble();
                         if (novoPeso <= 0) {
                             System.out.println("⚠️ Peso inválido, mantendo peso atual.");
-                        } else {
-                            produtoEdit.setPeso(novoPeso);
+                            novoPeso = null;
                         }
                         
+                        int ajuste = 0;
                         System.out.print("Ajustar estoque? (S/N): ");
                         scanner.nextLine();
                         String ajustarEstoque = scanner.nextLine().trim().toUpperCase();
                         if (ajustarEstoque.equals("S") || ajustarEstoque.equals("SIM")) {
                             System.out.print("Digite a quantidade a adicionar (+) ou remover (-): ");
-                            int ajuste = scanner.nextInt();
+                            ajuste = scanner.nextInt();
                             scanner.nextLine();
                             
                             int estoqueAtual = produtoEdit.getEstoque();
-                            int novoEstoque = estoqueAtual + ajuste;
-                            
-                            if (novoEstoque < 0) {
+                            if (estoqueAtual + ajuste < 0) {
                                 System.out.println("❌ Estoque não pode ficar negativo!");
                                 System.out.println("   Estoque atual: " + estoqueAtual);
                                 System.out.println("   Ajuste solicitado: " + ajuste);
-                            } else {
-                                produtoEdit.setEstoque(novoEstoque);
-                                System.out.println("📦 Estoque ajustado: " + estoqueAtual + " → " + novoEstoque + " unidades");
+                                ajuste = 0;
                             }
                         }
                         
-                        dao.atualizar(produtoEdit);
-                        System.out.println("✅ Produto físico atualizado!");
+                        // UPDATEs só das colunas alteradas, numa transação (sem merge do produto lido antes);
+                        // o estoque é ajustado de forma relativa, então vendas feitas nesse meio tempo não são desfeitas
+                        br.edu.ifpi.DAO.ProdutoDAO produtoDAO = new br.edu.ifpi.DAO.ProdutoDAO();
+                        String nomeAlterado = novoNome;
+                        String descAlterada = novaDesc;
+                        Double pesoAlterado = novoPeso;
+                        int ajusteEstoque = ajuste;
+                        boolean atualizado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em ->
+                            produtoDAO.atualizarDados(em, idEdit, nomeAlterado, descAlterada, pesoAlterado)
+                                && (novoPreco == null || produtoDAO.atualizarPreco(em, idEdit, novoPreco))
+                                && (ajusteEstoque >= 0 || dao.baixarEstoque(em, idEdit, -ajusteEstoque))
+                                && (ajusteEstoque <= 0 || dao.devolverEstoque(em, idEdit, ajusteEstoque)));
+                        if (atualizado) {
+                            if (ajusteEstoque != 0) {
+                                System.out.println("📦 Estoque ajustado em " + (ajusteEstoque > 0 ? "+" : "") + ajusteEstoque + " unidades");
+                            }
+                            System.out.println("✅ Produto físico atualizado!");
+                        } else {
+                            System.out.println("❌ Erro ao atualizar o produto (o estoque pode ter mudado nesse meio tempo).");
+                        }
                     } else {
                         System.out.println("❌ Produto não encontrado.");
                     }
@@ -547,40 +611,31 @@ public class Main {
                         
                         // Verificar se produto está em algum item de pedido
                         br.edu.ifpi.DAO.ItemPedidoDAO itemDAO = new br.edu.ifpi.DAO.ItemPedidoDAO();
-                        java.util.List<br.edu.ifpi.Model.ItemPedido> itensComProduto = new java.util.ArrayList<>();
-                        
-                        for (br.edu.ifpi.Model.ItemPedido item : itemDAO.listarTodos()) {
-                            if (item.getProduto() != null && item.getProduto().getId().equals(produtoRem.getId())) {
-                                itensComProduto.add(item);
-                            }
-                        }
+                        long itensComProduto = itemDAO.contarPorProduto(produtoRem.getId());
                         
                         System.out.println("\n--- INFORMAÇÕES DO PRODUTO ---");
                         System.out.println("📦 Nome: " + produtoRem.getNome());
-                        System.out.println("💰 Preço: R$ " + String.format("%.2f", produtoRem.getPreco()));
+                        System.out.println("💰 Preço: " + produtoRem.getPreco().formatar());
                         System.out.println("⚖️  Peso: " + produtoRem.getPeso() + " kg");
                         System.out.println("📊 Estoque: " + produtoRem.getEstoque() + " unidades");
                         
-                        if (!itensComProduto.isEmpty()) {
-                            System.out.println("\n⚠️  Este produto está em " + itensComProduto.size() + " item(ns) de pedido(s).");
-                            System.out.println("💡 O produto será removido, mas os itens dos pedidos continuarão com a referência.");
+                        if (itensComProduto > 0) {
+                            System.out.println("\n⚠️  Este produto está em " + itensComProduto + " item(ns) de pedido(s).");
+                            System.out.println("💡 O produto sai do catálogo, mas os pedidos antigos continuam com ele (remoção lógica).");
                         }
                         
                         System.out.print("\n⚠️ Confirma a remoção do produto? (S/N): ");
                         String confirma = scanner.nextLine().trim().toUpperCase();
                         
                         if (confirma.equals("S") || confirma.equals("SIM")) {
-                            // Remover referência do produto nos itens antes de deletar o produto
-                            for (br.edu.ifpi.Model.ItemPedido item : itensComProduto) {
-                                item.setProduto(null);
-                                itemDAO.atualizar(item);
+                            // Remoção lógica: um UPDATE marca o produto como inativo; os itens dos pedidos não mudam
+                            if (!new br.edu.ifpi.DAO.ProdutoDAO().desativar(produtoRem.getId())) {
+                                System.out.println("❌ Erro ao remover o produto.");
+                                break;
                             }
-                            
-                            // Agora pode remover o produto
-                            dao.remover(produtoRem);
                             System.out.println("✅ Produto físico removido com sucesso!");
-                            if (!itensComProduto.isEmpty()) {
-                                System.out.println("⚠️  " + itensComProduto.size() + " item(ns) de pedido tiveram a referência ao produto removida.");
+                            if (itensComProduto > 0) {
+                                System.out.println("📦 " + itensComProduto + " item(ns) de pedido mantêm a referência ao produto.");
                             }
                         } else {
                             System.out.println("❌ Remoção cancelada.");
@@ -626,8 +681,15 @@ public class Main {
                     break;
                 case 2:
                     System.out.println("-- Lista de Administradores --");
-                    for (br.edu.ifpi.Model.Administrador a : dao.listarTodos()) {
-                        System.out.println("ID: " + a.getId() + " | Nome: " + a.getNome() + " | Email: " + a.getEmail());
+                    br.edu.ifpi.DAO.Pagina<br.edu.ifpi.Model.Administrador> paginaAdmins = dao.listarPagina(null, TAMANHO_PAGINA);
+                    while (true) {
+                        for (br.edu.ifpi.Model.Administrador a : paginaAdmins.getItens()) {
+                            System.out.println("ID: " + a.getId() + " | Nome: " + a.getNome() + " | Email: " + a.getEmail());
+                        }
+                        if (!paginaAdmins.temProxima() || !continuarPaginacao(scanner)) {
+                            break;
+                        }
+                        paginaAdmins = dao.listarPagina(paginaAdmins.getUltimoId(), TAMANHO_PAGINA);
                     }
                     break;
                 case 3:
@@ -735,14 +797,17 @@ public class Main {
                             
                             // Usando Factory Method - Criação robusta e validada (inclui validação de endereço)
                             br.edu.ifpi.Model.Cliente cliente = br.edu.ifpi.Factory.ClienteFactory.criarCliente(nome, email, senha, cpfFormatado, endereco);
-                            dao.salvar(cliente);
+                            br.edu.ifpi.Model.Cliente gravado = dao.cadastrar(cliente);
+                            if (gravado != cliente) {
+                                System.out.println("♻️ CPF/email de um cliente removido: o cadastro anterior foi reativado.");
+                            }
                             System.out.println("✅ Cliente cadastrado com sucesso!");
-                            System.out.println("   ID: " + cliente.getId());
+                            System.out.println("   ID: " + gravado.getId());
                             System.out.println("   CPF: " + cpfFormatado);
                             
                         } catch (Exception e) {
                             System.out.println("❌ ERRO ao cadastrar cliente: " + e.getMessage());
-                            if (e.getMessage().contains("cpf")) {
+                            if (e.getMessage() != null && e.getMessage().contains("cpf")) {
                                 System.out.println("   ⚠️ Este CPF já está cadastrado no sistema!");
                             }
                         }
@@ -751,23 +816,29 @@ public class Main {
                     case 2: // LISTAR CLIENTES
                         try {
                             System.out.println("\n--- LISTA DE CLIENTES ---");
-                            java.util.List<br.edu.ifpi.Model.Cliente> clientes = dao.listarTodos();
+                            br.edu.ifpi.DAO.Pagina<br.edu.ifpi.DTO.ClienteResumo> paginaClientes = dao.listarResumos(null, TAMANHO_PAGINA);
                             
-                            if (clientes.isEmpty()) {
+                            if (paginaClientes.isVazia()) {
                                 System.out.println("⚠️ Nenhum cliente cadastrado.");
                             } else {
                                 System.out.println(String.format("%-5s | %-18s | %-25s | %-30s | %-30s | %-8s", 
                                     "ID", "CPF", "Nome", "Email", "Endereço", "Pedidos"));
                                 System.out.println("-".repeat(130));
                                 
-                                for (br.edu.ifpi.Model.Cliente c : clientes) {
-                                    System.out.println(String.format("%-5d | %-18s | %-25s | %-30s | %-30s | %-8d", 
-                                        c.getId(), 
-                                        c.getCpf(),
-                                        c.getNome().substring(0, Math.min(25, c.getNome().length())),
-                                        c.getEmail().substring(0, Math.min(30, c.getEmail().length())),
-                                        c.getEndereco().substring(0, Math.min(30, c.getEndereco().length())),
-                                        c.getPedidos().size()));
+                                while (true) {
+                                    for (br.edu.ifpi.DTO.ClienteResumo c : paginaClientes.getItens()) {
+                                        System.out.println(String.format("%-5d | %-18s | %-25s | %-30s | %-30s | %-8d", 
+                                            c.id(), 
+                                            c.cpf(),
+                                            c.nome().substring(0, Math.min(25, c.nome().length())),
+                                            c.email().substring(0, Math.min(30, c.email().length())),
+                                            c.endereco().substring(0, Math.min(30, c.endereco().length())),
+                                            c.qtdPedidos()));
+                                    }
+                                    if (!paginaClientes.temProxima() || !continuarPaginacao(scanner)) {
+                                        break;
+                                    }
+                                    paginaClientes = dao.listarResumos(paginaClientes.getUltimoId(), TAMANHO_PAGINA);
                                 }
                             }
                         } catch (Exception e) {
@@ -861,27 +932,29 @@ public class Main {
                             
                             // Verificar se cliente tem pedidos associados
                             br.edu.ifpi.DAO.PedidoDAO pedidoDAO = new br.edu.ifpi.DAO.PedidoDAO();
-                            java.util.List<br.edu.ifpi.Model.Pedido> pedidosDoCliente = new java.util.ArrayList<>();
-                            
-                            for (br.edu.ifpi.Model.Pedido pedido : pedidoDAO.listarTodos()) {
-                                if (pedido.getCliente() != null && pedido.getCliente().getId().equals(clienteRem.getId())) {
-                                    pedidosDoCliente.add(pedido);
-                                }
-                            }
+                            // Só a contagem e a projeção PedidoResumo, página a página: não carrega itens nem produtos
+                            long pedidosDoCliente = pedidoDAO.contarPorCliente(clienteRem.getId());
                             
                             System.out.println("\n--- INFORMAÇÕES DO CLIENTE ---");
                             System.out.println("👤 Nome: " + clienteRem.getNome());
                             System.out.println("📧 Email: " + clienteRem.getEmail());
                             System.out.println("📇 CPF: " + clienteRem.getCpf());
                             
-                            if (!pedidosDoCliente.isEmpty()) {
-                                System.out.println("\n⚠️  ATENÇÃO! Este cliente possui " + pedidosDoCliente.size() + " pedido(s) associado(s):");
+                            if (pedidosDoCliente > 0) {
+                                System.out.println("\n⚠️  ATENÇÃO! Este cliente possui " + pedidosDoCliente + " pedido(s) associado(s):");
                                 System.out.println("-".repeat(70));
-                                for (br.edu.ifpi.Model.Pedido p : pedidosDoCliente) {
-                                    System.out.println("📦 Pedido #" + p.getNumeroPedido() + 
-                                        " | Status: " + p.getStatus() + 
-                                        " | Valor: R$ " + String.format("%.2f", p.getTotal()) +
-                                        " | Itens: " + p.getItens().size());
+                                br.edu.ifpi.DAO.Pagina<br.edu.ifpi.DTO.PedidoResumo> paginaPedidos = pedidoDAO.listarResumosPorCliente(idRem, null, TAMANHO_PAGINA);
+                                while (true) {
+                                    for (br.edu.ifpi.DTO.PedidoResumo p : paginaPedidos.getItens()) {
+                                        System.out.println("📦 Pedido #" + p.numero() + 
+                                            " | Status: " + p.status() + 
+                                            " | Valor: " + p.total().formatar() +
+                                            " | Itens: " + p.qtdItens());
+                                    }
+                                    if (!paginaPedidos.temProxima() || !continuarPaginacao(scanner)) {
+                                        break;
+                                    }
+                                    paginaPedidos = pedidoDAO.listarResumosPorCliente(idRem, paginaPedidos.getUltimoId(), TAMANHO_PAGINA);
                                 }
                                 System.out.println("-".repeat(70));
                                 
@@ -889,32 +962,40 @@ public class Main {
                                 String excluirPedidos = scanner.nextLine().trim().toUpperCase();
                                 
                                 if (excluirPedidos.equals("S") || excluirPedidos.equals("SIM")) {
-                                    System.out.print("⚠️  CONFIRMAÇÃO FINAL: Isso excluirá o cliente E " + pedidosDoCliente.size() + " pedido(s). Confirma? (S/N): ");
+                                    System.out.print("⚠️  CONFIRMAÇÃO FINAL: Isso excluirá o cliente E " + pedidosDoCliente + " pedido(s). Confirma? (S/N): ");
                                     String confirmaFinal = scanner.nextLine().trim().toUpperCase();
                                     
                                     if (confirmaFinal.equals("S") || confirmaFinal.equals("SIM")) {
-                                        // Remover pedidos primeiro
-                                        for (br.edu.ifpi.Model.Pedido p : pedidosDoCliente) {
-                                            pedidoDAO.remover(p);
-                                            System.out.println("🗑️  Pedido #" + p.getNumeroPedido() + " removido");
-                                        }
-                                        
-                                        // Buscar cliente novamente para ter estado atualizado
-                                        clienteRem = dao.buscarPorId(idRem);
+                                        // Pedidos (com itens, pagamentos e entradas de histórico) em massa e depois a
+                                        // remoção lógica do cliente, tudo numa transação
+                                        int[] pedidosRemovidos = {0};
+                                        boolean removido = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                                            pedidosRemovidos[0] = pedidoDAO.removerPorCliente(em, idRem);
+                                            return dao.desativar(em, idRem);
+                                        });
                                         
-                                        // Remover cliente
-                                        if (clienteRem != null) {
-                                            dao.remover(clienteRem);
+                                        if (removido) {
+                                            System.out.println("🗑️  " + pedidosRemovidos[0] + " pedido(s) removido(s)");
                                             System.out.println("✅ Cliente e seus pedidos removidos com sucesso!");
                                         } else {
-                                            System.out.println("✅ Pedidos removidos, mas cliente já não existe mais.");
+                                            System.out.println("❌ Erro ao remover o cliente e seus pedidos.");
                                         }
                                     } else {
                                         System.out.println("❌ Remoção cancelada.");
                                     }
                                 } else {
-                                    System.out.println("❌ Não é possível remover o cliente sem remover os pedidos associados.");
-                                    System.out.println("💡 Dica: Remova os pedidos manualmente primeiro ou confirme a exclusão conjunta.");
+                                    // Remoção lógica: o cliente é desativado e os pedidos continuam no histórico
+                                    System.out.print("⚠️ Remover só o cliente, mantendo os pedidos? (S/N): ");
+                                    String manterPedidos = scanner.nextLine().trim().toUpperCase();
+                                    if (manterPedidos.equals("S") || manterPedidos.equals("SIM")) {
+                                        if (dao.desativar(idRem)) {
+                                            System.out.println("✅ Cliente removido! Os pedidos foram mantidos.");
+                                        } else {
+                                            System.out.println("❌ Erro ao remover o cliente.");
+                                        }
+                                    } else {
+                                        System.out.println("❌ Remoção cancelada.");
+                                    }
                                 }
                             } else {
                                 // Cliente sem pedidos, remoção normal
@@ -922,8 +1003,11 @@ public class Main {
                                 String confirma = scanner.nextLine().trim().toUpperCase();
                                 
                                 if (confirma.equals("S") || confirma.equals("SIM")) {
-                                    dao.remover(clienteRem);
-                                    System.out.println("✅ Cliente removido com sucesso!");
+                                    if (dao.desativar(clienteRem.getId())) {
+                                        System.out.println("✅ Cliente removido com sucesso!");
+                                    } else {
+                                        System.out.println("❌ Erro ao remover o cliente.");
+                                    }
                                 } else {
                                     System.out.println("❌ Remoção cancelada.");
                                 }
@@ -947,7 +1031,7 @@ public class Main {
                             Long idCliente = scanner.nextLong();
                             scanner.nextLine();
                             
-                            br.edu.ifpi.Model.Cliente cliente = dao.buscarPorId(idCliente);
+                            br.edu.ifpi.Model.Cliente cliente = dao.buscarComHistoricoSomenteLeitura(idCliente);
                             if (cliente == null) {
                                 System.out.println("❌ Cliente não encontrado!");
                                 break;
@@ -1024,6 +1108,7 @@ public class Main {
             System.out.println("6. Finalizar Pedido (Processar Venda)");
             System.out.println("7. Editar Cliente do Pedido");
             System.out.println("8. Remover Pedido");
+            System.out.println("9. Exportar Pedidos (CSV/JSONL)");
             System.out.println("0. Voltar");
             System.out.print("Escolha uma opção: ");
             opcao = scanner.nextInt();
@@ -1047,18 +1132,26 @@ public class Main {
                     
                 case 2: // LISTAR PEDIDOS
                     System.out.println("\n--- LISTA DE PEDIDOS ---");
-                    System.out.println(String.format("%-10s | %-25s | %-15s | %-10s | %-10s", 
-                        "Nº Pedido", "Cliente", "Data", "Status", "Itens"));
-                    System.out.println("-".repeat(80));
-                    for (br.edu.ifpi.Model.Pedido p : dao.listarTodos()) {
-                        String nomeCliente = p.getCliente() != null ? p.getCliente().getNome() : "Sem cliente";
-                        String data = p.getData() != null ? p.getData().substring(0, Math.min(10, p.getData().length())) : "-";
-                        System.out.println(String.format("%-10d | %-25s | %-15s | %-10s | %-10d",
-                            p.getNumeroPedido(),
-                            nomeCliente.substring(0, Math.min(25, nomeCliente.length())),
-                            data,
-                            p.getStatus(),
-                            p.getItens().size()));
+                    System.out.println(String.format("%-10s | %-25s | %-15s | %-10s | %-10s | %-12s", 
+                        "Nº Pedido", "Cliente", "Data", "Status", "Itens", "Total"));
+                    System.out.println("-".repeat(95));
+                    br.edu.ifpi.DAO.Pagina<br.edu.ifpi.DTO.PedidoResumo> paginaPedidos = dao.listarResumos(null, TAMANHO_PAGINA);
+                    while (true) {
+                        for (br.edu.ifpi.DTO.PedidoResumo p : paginaPedidos.getItens()) {
+                            String nomeCliente = p.clienteNome() != null ? p.clienteNome() : "Sem cliente";
+                            String data = p.data() != null ? formatarData(p.data().toLocalDate()) : "-";
+                            System.out.println(String.format("%-10d | %-25s | %-15s | %-10s | %-10d | %-12s",
+                                p.numero(),
+                                nomeCliente.substring(0, Math.min(25, nomeCliente.length())),
+                                data,
+                                p.status(),
+                                p.qtdItens(),
+                                p.total().formatar()));
+                        }
+                        if (!paginaPedidos.temProxima() || !continuarPaginacao(scanner)) {
+                            break;
+                        }
+                        paginaPedidos = dao.listarResumos(paginaPedidos.getUltimoId(), TAMANHO_PAGINA);
                     }
                     break;
                     
@@ -1066,7 +1159,7 @@ public class Main {
                     System.out.print("\nNúmero do pedido: ");
                     Long idDetalhes = scanner.nextLong();
                     scanner.nextLine();
-                    br.edu.ifpi.Model.Pedido pedidoDetalhes = dao.buscarPorId(idDetalhes);
+                    br.edu.ifpi.Model.Pedido pedidoDetalhes = dao.buscarPorIdSomenteLeitura(idDetalhes, br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
                     if (pedidoDetalhes != null) {
                         System.out.println("\n=== DETALHES DO PEDIDO #" + pedidoDetalhes.getNumeroPedido() + " ===");
                         System.out.println("👤 Cliente: " + (pedidoDetalhes.getCliente() != null ? pedidoDetalhes.getCliente().getNome() : "N/A"));
@@ -1080,11 +1173,11 @@ public class Main {
                             for (br.edu.ifpi.Model.ItemPedido item : pedidoDetalhes.getItens()) {
                                 System.out.println("  • " + item.getProduto().getNome() + 
                                     " | Qtd: " + item.getQuantidade() + 
-                                    " | Preço: R$ " + item.getProduto().getPreco() +
-                                    " | Subtotal: R$ " + String.format("%.2f", item.getDouble()));
+                                    " | Preço: " + item.getPrecoUnitario().formatar() +
+                                    " | Subtotal: " + item.getDouble().formatar());
                             }
                         }
-                        System.out.println("\n💰 VALOR TOTAL: R$ " + String.format("%.2f", pedidoDetalhes.getTotal()));
+                        System.out.println("\n💰 VALOR TOTAL: " + pedidoDetalhes.getTotal().formatar());
                         System.out.println("💳 Pagamento: " + (pedidoDetalhes.getPagamento() != null ? 
                             pedidoDetalhes.getPagamento().getClass().getSimpleName() : "Não definido"));
                     } else {
@@ -1096,7 +1189,7 @@ public class Main {
                     System.out.print("\nNúmero do pedido: ");
                     Long idPedidoItens = scanner.nextLong();
                     scanner.nextLine();
-                    br.edu.ifpi.Model.Pedido pedidoItens = dao.buscarPorId(idPedidoItens);
+                    br.edu.ifpi.Model.Pedido pedidoItens = dao.buscarPorId(idPedidoItens, br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
                     if (pedidoItens == null) {
                         System.out.println("❌ Pedido não encontrado.");
                         break;
@@ -1128,9 +1221,16 @@ public class Main {
                             br.edu.ifpi.Factory.PagamentoFactory factory = 
                                 br.edu.ifpi.Factory.PagamentoFactoryProvider.criarFactoryBoleto(codigoBoleto);
                             br.edu.ifpi.Model.Boleto boleto = (br.edu.ifpi.Model.Boleto) factory.criarPagamentoCompleto();
-                            pedidoPagamento.setPagamento(boleto);
-                            dao.atualizar(pedidoPagamento);
-                            System.out.println("✅ Pagamento (Boleto) adicionado ao pedido!");
+                            // Grava o boleto e só o pagamento_id do pedido, na mesma transação (sem merge do pedido)
+                            boolean associado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                                new br.edu.ifpi.DAO.PagamentoDAO().salvar(em, boleto);
+                                return dao.associarPagamento(em, pedidoPagamento.getNumeroPedido(), boleto.getId());
+                            });
+                            if (associado) {
+                                System.out.println("✅ Pagamento (Boleto) adicionado ao pedido!");
+                            } else {
+                                System.out.println("❌ Erro ao adicionar o pagamento ao pedido.");
+                            }
                         } catch (IllegalArgumentException e) {
                             System.out.println("❌ Erro na criação do boleto: " + e.getMessage());
                         }
@@ -1143,7 +1243,7 @@ public class Main {
                     System.out.print("\nNúmero do pedido para finalizar: ");
                     Long idFinalizar = scanner.nextLong();
                     scanner.nextLine();
-                    br.edu.ifpi.Model.Pedido pedidoFinalizar = dao.buscarPorId(idFinalizar);
+                    br.edu.ifpi.Model.Pedido pedidoFinalizar = dao.buscarPorId(idFinalizar, br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
                     if (pedidoFinalizar == null) {
                         System.out.println("❌ Pedido não encontrado.");
                         break;
@@ -1152,18 +1252,33 @@ public class Main {
                     System.out.println("\n=== FINALIZANDO PEDIDO #" + pedidoFinalizar.getNumeroPedido() + " ===");
                     System.out.println("Cliente: " + pedidoFinalizar.getCliente().getNome());
                     System.out.println("Total de itens: " + pedidoFinalizar.getItens().size());
-                    System.out.println("Valor total: R$ " + String.format("%.2f", pedidoFinalizar.getTotal()));
+                    System.out.println("Valor total: " + pedidoFinalizar.getTotal().formatar());
                     System.out.print("\n⚠️ Confirma a finalização? (S/N): ");
                     String confirma = scanner.nextLine().trim().toUpperCase();
                     
                     if (confirma.equals("S") || confirma.equals("SIM")) {
                         boolean sucesso = pedidoFinalizar.finalizarPedido();
                         if (sucesso) {
-                            dao.atualizar(pedidoFinalizar);
-                            // Adiciona ao histórico do cliente
-                            if (pedidoFinalizar.getCliente() != null) {
-                                pedidoFinalizar.getCliente().adicionarPedidoHistorico(pedidoFinalizar);
+                            // Status do pedido, pagamento e histórico do cliente numa única transação,
+                            // só com UPDATEs das colunas alteradas (sem merge do pedido inteiro)
+                            boolean gravado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                                if (!dao.atualizarStatus(em, pedidoFinalizar.getNumeroPedido(), pedidoFinalizar.getStatus())) {
+                                    return false;
+                                }
+                                if (pedidoFinalizar.getPagamento().isPago()) {
+                                    new br.edu.ifpi.DAO.PagamentoDAO().marcarComoPago(em, pedidoFinalizar.getPagamento().getId());
+                                }
+                                if (pedidoFinalizar.getCliente() != null) {
+                                    new br.edu.ifpi.DAO.ClienteDAO().adicionarPedidoHistorico(em,
+                                        pedidoFinalizar.getCliente().getId(), pedidoFinalizar.getNumeroPedido());
+                                }
+                                return true;
+                            });
+                            if (!gravado) {
+                                System.out.println("❌ Erro ao gravar a finalização do pedido.");
                             }
+                        } else if (pedidoFinalizar.getStatus() == br.edu.ifpi.Model.StatusPedido.PAGAMENTO_RECUSADO) {
+                            dao.atualizarStatus(pedidoFinalizar.getNumeroPedido(), br.edu.ifpi.Model.StatusPedido.PAGAMENTO_RECUSADO);
                         }
                     } else {
                         System.out.println("❌ Finalização cancelada.");
@@ -1181,9 +1296,11 @@ public class Main {
                         scanner.nextLine();
                         br.edu.ifpi.Model.Cliente novoCliente = new br.edu.ifpi.DAO.ClienteDAO().buscarPorId(novoIdCliente);
                         if (novoCliente != null) {
-                            pedidoEdit.setCliente(novoCliente);
-                            dao.atualizar(pedidoEdit);
-                            System.out.println("✅ Pedido atualizado!");
+                            if (dao.alterarCliente(pedidoEdit.getNumeroPedido(), novoCliente.getId())) {
+                                System.out.println("✅ Pedido atualizado!");
+                            } else {
+                                System.out.println("❌ Erro ao atualizar o pedido.");
+                            }
                         } else {
                             System.out.println("❌ Cliente não encontrado.");
                         }
@@ -1211,6 +1328,21 @@ public class Main {
                     }
                     break;
                     
+                case 9: // EXPORTAR PEDIDOS
+                    System.out.print("Arquivo de saída (.csv ou .jsonl): ");
+                    String caminhoExportacao = scanner.nextLine().trim();
+                    try {
+                        long inicioExportacao = System.nanoTime();
+                        long exportados = new br.edu.ifpi.Exportacao.ExportadorPedidos()
+                            .exportar(new br.edu.ifpi.DAO.FiltroPedido(), java.nio.file.Path.of(caminhoExportacao));
+                        System.out.println("✅ " + exportados + " pedidos exportados para " + caminhoExportacao +
+                            " em " + (System.nanoTime() - inicioExportacao) / 1_000_000 + " ms");
+                    } catch (IllegalArgumentException | java.io.IOException | java.io.UncheckedIOException
+                             | jakarta.persistence.PersistenceException e) {
+                        System.out.println("❌ Erro na exportação: " + e.getMessage());
+                    }
+                    break;
+                    
                 case 0:
                     break;
                     
@@ -1226,12 +1358,14 @@ public class Main {
      */
     private static void gerenciarItensDoPedido(Scanner scanner, br.edu.ifpi.Model.Pedido pedido, br.edu.ifpi.DAO.PedidoDAO pedidoDAO) {
         br.edu.ifpi.DAO.ItemPedidoDAO itemDAO = new br.edu.ifpi.DAO.ItemPedidoDAO();
+        br.edu.ifpi.DAO.ProdutoFisicoDAO produtoFisicoDAO = new br.edu.ifpi.DAO.ProdutoFisicoDAO();
         int opcao;
         do {
+            br.edu.ifpi.Model.Pedido pedidoAtual = pedido; // referência fixa para as transações (lambdas) desta volta
             System.out.println("\n=== ITENS DO PEDIDO #" + pedido.getNumeroPedido() + " ===");
             System.out.println("Cliente: " + pedido.getCliente().getNome());
             System.out.println("Total de itens: " + pedido.getItens().size());
-            System.out.println("Valor total: R$ " + String.format("%.2f", pedido.getTotal()));
+            System.out.println("Valor total: " + pedido.getTotal().formatar());
             System.out.println("\n1. Adicionar Item");
             System.out.println("2. Listar Itens");
             System.out.println("3. Editar Quantidade do Item");
@@ -1253,7 +1387,7 @@ public class Main {
                     }
                     
                     // Mostrar informações do produto
-                    System.out.println("Produto: " + produto.getNome() + " - R$ " + produto.getPreco());
+                    System.out.println("Produto: " + produto.getNome() + " - " + produto.getPreco().formatar());
                     
                     // Verificar se é produto físico e mostrar estoque
                     if (produto instanceof br.edu.ifpi.Model.ProdutoFisico) {
@@ -1294,19 +1428,29 @@ public class Main {
                     br.edu.ifpi.Model.ItemPedido item = new br.edu.ifpi.Model.ItemPedido(produto, quantidade, pedido);
                     pedido.adicionarItem(item); // Usa método do diagrama
                     
-                    // Diminuir estoque para produtos físicos
-                    if (produto instanceof br.edu.ifpi.Model.ProdutoFisico) {
-                        br.edu.ifpi.Model.ProdutoFisico prodFisico = (br.edu.ifpi.Model.ProdutoFisico) produto;
-                        if (prodFisico.diminuirEstoque(quantidade)) {
-                            new br.edu.ifpi.DAO.ProdutoFisicoDAO().atualizar(prodFisico);
-                            System.out.println("📦 Estoque atualizado: " + prodFisico.getEstoque() + " unidades restantes");
+                    // Baixa de estoque, item e totais do pedido numa única transação
+                    // (a baixa é atômica no banco: outra venda pode ter levado o estoque)
+                    boolean adicionado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                        if (produto instanceof br.edu.ifpi.Model.ProdutoFisico
+                                && !produtoFisicoDAO.baixarEstoque(em, produto.getId(), quantidade)) {
+                            return false;
                         }
+                        itemDAO.salvar(em, item);
+                        return pedidoDAO.ajustarTotais(em, pedidoAtual.getNumeroPedido(), 1, item.getDouble().centavos());
+                    });
+                    if (!adicionado) {
+                        pedido.removerItem(item);
+                        System.out.println("❌ Item não adicionado: estoque insuficiente (alterado por outra venda) ou erro ao salvar.");
+                        break;
                     }
                     
-                    itemDAO.salvar(item);
-                    pedidoDAO.atualizar(pedido);
+                    if (produto instanceof br.edu.ifpi.Model.ProdutoFisico) {
+                        br.edu.ifpi.Model.ProdutoFisico prodFisico = (br.edu.ifpi.Model.ProdutoFisico) produto;
+                        prodFisico.diminuirEstoque(quantidade);
+                        System.out.println("📦 Estoque atualizado: " + prodFisico.getEstoque() + " unidades restantes");
+                    }
                     System.out.println("✅ Item adicionado ao pedido!");
-                    System.out.println("💰 Subtotal do item: R$ " + String.format("%.2f", item.getDouble()));
+                    System.out.println("💰 Subtotal do item: " + item.getDouble().formatar());
                     break;
                     
                 case 2: // LISTAR ITENS
@@ -1318,15 +1462,15 @@ public class Main {
                             "ID", "Produto", "Qtd", "Preço Unit.", "Subtotal"));
                         System.out.println("-".repeat(75));
                         for (br.edu.ifpi.Model.ItemPedido i : pedido.getItens()) {
-                            System.out.println(String.format("%-5d | %-30s | %-10d | R$ %-9.2f | R$ %-9.2f",
+                            System.out.println(String.format("%-5d | %-30s | %-10d | %-12s | %-12s",
                                 i.getId(),
                                 i.getProduto().getNome().substring(0, Math.min(30, i.getProduto().getNome().length())),
                                 i.getQuantidade(),
-                                i.getProduto().getPreco(),
-                                i.getDouble()));
+                                i.getPrecoUnitario().formatar(),
+                                i.getDouble().formatar()));
                         }
                         System.out.println("-".repeat(75));
-                        System.out.println("💰 TOTAL: R$ " + String.format("%.2f", pedido.getTotal()));
+                        System.out.println("💰 TOTAL: " + pedido.getTotal().formatar());
                     }
                     break;
                     
@@ -1334,8 +1478,8 @@ public class Main {
                     System.out.print("\nID do item para editar: ");
                     Long idEdit = scanner.nextLong();
                     scanner.nextLine();
-                    br.edu.ifpi.Model.ItemPedido itemEdit = itemDAO.buscarPorId(idEdit);
-                    if (itemEdit != null && itemEdit.getPedido().getNumeroPedido().equals(pedido.getNumeroPedido())) {
+                    br.edu.ifpi.Model.ItemPedido itemEdit = pedido.buscarItem(idEdit);
+                    if (itemEdit != null) {
                         System.out.println("Produto: " + itemEdit.getProduto().getNome());
                         System.out.println("Quantidade atual: " + itemEdit.getQuantidade());
                         
@@ -1355,35 +1499,53 @@ public class Main {
                             break;
                         }
                         
+                        int qtdAtual = itemEdit.getQuantidade();
+                        int diferenca = novaQtd - qtdAtual;
+                        boolean fisico = itemEdit.getProduto() instanceof br.edu.ifpi.Model.ProdutoFisico;
+                        
                         // Validar estoque para produtos físicos
-                        if (itemEdit.getProduto() instanceof br.edu.ifpi.Model.ProdutoFisico) {
+                        if (fisico && diferenca > 0) { // Aumentando quantidade
                             br.edu.ifpi.Model.ProdutoFisico prodFisico = (br.edu.ifpi.Model.ProdutoFisico) itemEdit.getProduto();
-                            int qtdAtual = itemEdit.getQuantidade();
-                            int diferenca = novaQtd - qtdAtual;
-                            
-                            if (diferenca > 0) { // Aumentando quantidade
-                                if (!prodFisico.temEstoqueSuficiente(diferenca)) {
-                                    System.out.println("❌ ESTOQUE INSUFICIENTE para aumentar quantidade!");
-                                    System.out.println("   Estoque disponível: " + prodFisico.getEstoque() + " unidades");
-                                    System.out.println("   Necessário: " + diferenca + " unidades adicionais");
-                                    break;
-                                }
-                                prodFisico.diminuirEstoque(diferenca);
-                            } else if (diferenca < 0) { // Diminuindo quantidade
-                                prodFisico.aumentarEstoque(-diferenca); // diferenca é negativo, então inverte
+                            if (!prodFisico.temEstoqueSuficiente(diferenca)) {
+                                System.out.println("❌ ESTOQUE INSUFICIENTE para aumentar quantidade!");
+                                System.out.println("   Estoque disponível: " + prodFisico.getEstoque() + " unidades");
+                                System.out.println("   Necessário: " + diferenca + " unidades adicionais");
+                                break;
                             }
-                            
-                            if (diferenca != 0) {
-                                new br.edu.ifpi.DAO.ProdutoFisicoDAO().atualizar(prodFisico);
-                                System.out.println("📦 Estoque atualizado: " + prodFisico.getEstoque() + " unidades");
+                        }
+                        
+                        // Ajuste de estoque, nova quantidade e total do pedido numa única transação
+                        long subtotalAnterior = itemEdit.getDouble().centavos();
+                        pedido.alterarQuantidade(itemEdit, novaQtd);
+                        boolean atualizado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                            if (fisico && diferenca > 0
+                                    && !produtoFisicoDAO.baixarEstoque(em, itemEdit.getProduto().getId(), diferenca)) {
+                                return false;
                             }
+                            if (fisico && diferenca < 0) {
+                                produtoFisicoDAO.devolverEstoque(em, itemEdit.getProduto().getId(), -diferenca);
+                            }
+                            return itemDAO.atualizarQuantidade(em, itemEdit)
+                                && pedidoDAO.ajustarTotais(em, pedidoAtual.getNumeroPedido(), 0,
+                                        itemEdit.getDouble().centavos() - subtotalAnterior);
+                        });
+                        if (!atualizado) {
+                            pedido.alterarQuantidade(itemEdit, qtdAtual);
+                            System.out.println("❌ Quantidade não atualizada: estoque insuficiente (alterado por outra venda) ou erro ao salvar.");
+                            break;
                         }
                         
-                        itemEdit.setQuantidade(novaQtd);
-                        itemDAO.atualizar(itemEdit);
-                        pedidoDAO.atualizar(pedido);
+                        if (fisico && diferenca != 0) {
+                            br.edu.ifpi.Model.ProdutoFisico prodFisico = (br.edu.ifpi.Model.ProdutoFisico) itemEdit.getProduto();
+                            if (diferenca > 0) {
+                                prodFisico.diminuirEstoque(diferenca);
+                            } else {
+                                prodFisico.aumentarEstoque(-diferenca); // diferenca é negativo, então inverte
+                            }
+                            System.out.println("📦 Estoque atualizado: " + prodFisico.getEstoque() + " unidades");
+                        }
                         System.out.println("✅ Quantidade atualizada!");
-                        System.out.println("💰 Novo subtotal: R$ " + String.format("%.2f", itemEdit.getDouble()));
+                        System.out.println("💰 Novo subtotal: " + itemEdit.getDouble().formatar());
                     } else {
                         System.out.println("❌ Item não encontrado neste pedido.");
                     }
@@ -1393,24 +1555,35 @@ public class Main {
                     System.out.print("\nID do item para remover: ");
                     Long idRem = scanner.nextLong();
                     scanner.nextLine();
-                    br.edu.ifpi.Model.ItemPedido itemRem = itemDAO.buscarPorId(idRem);
-                    if (itemRem != null && itemRem.getPedido().getNumeroPedido().equals(pedido.getNumeroPedido())) {
+                    br.edu.ifpi.Model.ItemPedido itemRem = pedido.buscarItem(idRem);
+                    if (itemRem != null) {
                         System.out.println("Produto: " + itemRem.getProduto().getNome());
                         System.out.println("Quantidade: " + itemRem.getQuantidade() + " unidades");
                         System.out.print("⚠️ Confirma a remoção? (S/N): ");
                         String confirmaRem = scanner.nextLine().trim().toUpperCase();
                         if (confirmaRem.equals("S") || confirmaRem.equals("SIM")) {
+                            pedido.removerItem(itemRem); // Usa método do diagrama
+                            
+                            // Devolução de estoque, remoção do item e totais do pedido numa única transação
+                            boolean removido = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                                if (itemRem.getProduto() instanceof br.edu.ifpi.Model.ProdutoFisico) {
+                                    produtoFisicoDAO.devolverEstoque(em, itemRem.getProduto().getId(), itemRem.getQuantidade());
+                                }
+                                itemDAO.remover(em, itemRem);
+                                return pedidoDAO.ajustarTotais(em, pedidoAtual.getNumeroPedido(), -1, -itemRem.getDouble().centavos());
+                            });
+                            if (!removido) {
+                                pedido.adicionarItem(itemRem);
+                                System.out.println("❌ Erro ao remover o item.");
+                                break;
+                            }
+                            
                             // Devolver estoque para produtos físicos
                             if (itemRem.getProduto() instanceof br.edu.ifpi.Model.ProdutoFisico) {
                                 br.edu.ifpi.Model.ProdutoFisico prodFisico = (br.edu.ifpi.Model.ProdutoFisico) itemRem.getProduto();
                                 prodFisico.aumentarEstoque(itemRem.getQuantidade());
-                                new br.edu.ifpi.DAO.ProdutoFisicoDAO().atualizar(prodFisico);
                                 System.out.println("📦 Estoque devolvido: " + prodFisico.getEstoque() + " unidades disponíveis");
                             }
-                            
-                            pedido.removerItem(itemRem); // Usa método do diagrama
-                            itemDAO.remover(itemRem);
-                            pedidoDAO.atualizar(pedido);
                             System.out.println("✅ Item removido!");
                         } else {
                             System.out.println("❌ Remoção cancelada.");
@@ -1428,7 +1601,7 @@ public class Main {
             }
             
             // Recarrega o pedido para atualizar a lista de itens
-            pedido = pedidoDAO.buscarPorId(pedido.getNumeroPedido());
+            pedido = pedidoDAO.buscarPorId(pedido.getNumeroPedido(), br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
             
         } while (opcao != 0);
     }
@@ -1458,7 +1631,7 @@ public class Main {
                         scanner.nextLine();
                         
                         // Passo 2: Buscar o pedido
-                        br.edu.ifpi.Model.Pedido pedido = pedidoDAO.buscarPorId(numeroPedido);
+                        br.edu.ifpi.Model.Pedido pedido = pedidoDAO.buscarPorId(numeroPedido, br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
                         if (pedido == null) {
                             System.out.println("❌ ERRO: Pedido #" + numeroPedido + " não encontrado!");
                             break;
@@ -1494,7 +1667,7 @@ public class Main {
                         System.out.println("👤 Cliente: " + pedido.getCliente().getNome());
                         System.out.println("📇 CPF: " + pedido.getCliente().getCpf());
                         System.out.println("📦 Total de itens: " + pedido.getItens().size());
-                        System.out.println("💰 Valor total: R$ " + String.format("%.2f", pedido.getTotal()));
+                        System.out.println("💰 Valor total: " + pedido.getTotal().formatar());
                         System.out.println("📅 Data: " + pedido.getData());
                         System.out.println("📊 Status: " + pedido.getStatus());
                         
@@ -1504,9 +1677,9 @@ public class Main {
                         System.out.println("🔢 Código: " + codigoBoleto);
                         
                         // Passo 7: Calcular vencimento (7 dias a partir de hoje)
-                        String vencimento = java.time.LocalDate.now().plusDays(7).toString();
+                        java.time.LocalDate vencimento = java.time.LocalDate.now().plusDays(7);
                         System.out.println("📅 Vencimento: " + formatarData(vencimento));
-                        System.out.println("💵 Valor: R$ " + String.format("%.2f", pedido.getTotal()));
+                        System.out.println("💵 Valor: " + pedido.getTotal().formatar());
                         
                         // Passo 8: Confirmar criação
                         System.out.print("\n✅ Confirma criação do boleto? (S/N): ");
@@ -1519,15 +1692,19 @@ public class Main {
                         
                         // Passo 9: Criar o boleto com valor usando Factory Method
                         try {
-                            // Converter data de YYYY-MM-DD para DD/MM/YYYY antes de passar para factory
-                            String vencimentoFormatado = formatarData(vencimento);
                             br.edu.ifpi.Factory.PagamentoFactory factory = 
-                                br.edu.ifpi.Factory.PagamentoFactoryProvider.criarFactoryBoleto(codigoBoleto, vencimentoFormatado, pedido.getTotal());
+                                br.edu.ifpi.Factory.PagamentoFactoryProvider.criarFactoryBoleto(codigoBoleto, vencimento, pedido.getTotal());
                             br.edu.ifpi.Model.Boleto boleto = (br.edu.ifpi.Model.Boleto) factory.criarPagamentoCompleto();
                             
-                            // Passo 10: Associar boleto ao pedido
-                            pedido.setPagamento(boleto);
-                            pedidoDAO.atualizar(pedido);
+                            // Passo 10: Associar boleto ao pedido (grava o boleto e só o pagamento_id do pedido)
+                            boolean associado = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                                dao.salvar(em, boleto);
+                                return pedidoDAO.associarPagamento(em, pedido.getNumeroPedido(), boleto.getId());
+                            });
+                            if (!associado) {
+                                System.out.println("❌ Erro ao associar o boleto ao pedido.");
+                                break;
+                            }
                         } catch (IllegalArgumentException e) {
                             System.out.println("❌ Erro na criação do boleto: " + e.getMessage());
                             break;
@@ -1543,7 +1720,7 @@ public class Main {
                         System.out.println("   " + codigoBoleto);
                         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
                         System.out.println("📅 VENCIMENTO: " + formatarData(vencimento));
-                        System.out.println("💵 VALOR: R$ " + String.format("%.2f", pedido.getTotal()));
+                        System.out.println("💵 VALOR: " + pedido.getTotal().formatar());
                         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
                         System.out.println("⚠️ IMPORTANTE:");
                         System.out.println("   - Boleto associado ao Pedido #" + pedido.getNumeroPedido());
@@ -1559,9 +1736,10 @@ public class Main {
                 case 2: // LISTAR TODOS OS BOLETOS
                     try {
                         System.out.println("\n--- LISTA DE BOLETOS ---");
-                        java.util.List<br.edu.ifpi.Model.Pagamento> pagamentos = dao.listarTodos();
+                        br.edu.ifpi.DAO.BoletoDAO boletoDAO = new br.edu.ifpi.DAO.BoletoDAO();
+                        br.edu.ifpi.DAO.Pagina<br.edu.ifpi.Model.Boleto> paginaBoletos = boletoDAO.listarPagina(null, TAMANHO_PAGINA);
                         
-                        if (pagamentos.isEmpty()) {
+                        if (paginaBoletos.isVazia()) {
                             System.out.println("⚠️ Nenhum boleto cadastrado.");
                         } else {
                             int totalBoletos = 0;
@@ -1569,12 +1747,11 @@ public class Main {
                                 "ID", "Código do Boleto", "Vencimento", "Valor", "Status"));
                             System.out.println("-".repeat(95));
                             
-                            for (br.edu.ifpi.Model.Pagamento p : pagamentos) {
-                                if (p instanceof br.edu.ifpi.Model.Boleto) {
-                                    br.edu.ifpi.Model.Boleto bol = (br.edu.ifpi.Model.Boleto) p;
+                            while (true) {
+                                for (br.edu.ifpi.Model.Boleto bol : paginaBoletos.getItens()) {
                                     String venc = bol.getVencimento() != null ? formatarData(bol.getVencimento()) : "Não definido";
-                                    String valorStr = bol.getValor() != null ? String.format("R$ %.2f", bol.getValor()) : "R$ 0,00";
-                                    String status = bol.getStatusPagamento() != null ? bol.getStatusPagamento() : "PENDENTE";
+                                    String valorStr = bol.getValor() != null ? bol.getValor().formatar() : "R$ 0,00";
+                                    String status = bol.getStatusPagamento() != null ? bol.getStatusPagamento().name() : "PENDENTE";
                                     System.out.println(String.format("%-5d | %-40s | %-12s | %-12s | %-10s",
                                         bol.getId(),
                                         bol.getCodigoBoleto().substring(0, Math.min(40, bol.getCodigoBoleto().length())),
@@ -1583,9 +1760,13 @@ public class Main {
                                         status));
                                     totalBoletos++;
                                 }
+                                if (!paginaBoletos.temProxima() || !continuarPaginacao(scanner)) {
+                                    break;
+                                }
+                                paginaBoletos = boletoDAO.listarPagina(paginaBoletos.getUltimoId(), TAMANHO_PAGINA);
                             }
                             System.out.println("-".repeat(95));
-                            System.out.println("📊 Total de boletos: " + totalBoletos);
+                            System.out.println("📊 Boletos exibidos: " + totalBoletos);
                         }
                     } catch (Exception e) {
                         System.out.println("❌ ERRO ao listar boletos: " + e.getMessage());
@@ -1613,13 +1794,7 @@ public class Main {
                         br.edu.ifpi.Model.Boleto boleto = (br.edu.ifpi.Model.Boleto) pagamento;
                         
                         // Buscar pedido associado
-                        br.edu.ifpi.Model.Pedido pedidoAssociado = null;
-                        for (br.edu.ifpi.Model.Pedido ped : pedidoDAO.listarTodos()) {
-                            if (ped.getPagamento() != null && ped.getPagamento().getId().equals(boleto.getId())) {
-                                pedidoAssociado = ped;
-                                break;
-                            }
-                        }
+                        br.edu.ifpi.Model.Pedido pedidoAssociado = pedidoDAO.buscarPorPagamento(boleto.getId(), br.edu.ifpi.DAO.PedidoDAO.GRAFO_DETALHE);
                         
                         System.out.println("\n━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
                         System.out.println("           DETALHES DO BOLETO");
@@ -1627,7 +1802,7 @@ public class Main {
                         System.out.println("🆔 ID: " + boleto.getId());
                         System.out.println("🔢 Código: " + boleto.getCodigoBoleto());
                         System.out.println("📅 Vencimento: " + (boleto.getVencimento() != null ? formatarData(boleto.getVencimento()) : "Não definido"));
-                        System.out.println("💵 Valor: " + (boleto.getValor() != null ? String.format("R$ %.2f", boleto.getValor()) : "R$ 0,00"));
+                        System.out.println("💵 Valor: " + (boleto.getValor() != null ? boleto.getValor().formatar() : "R$ 0,00"));
                         System.out.println("📊 Status: " + (boleto.getStatusPagamento() != null ? boleto.getStatusPagamento() : "PENDENTE"));
                         
                         if (pedidoAssociado != null) {
@@ -1635,7 +1810,7 @@ public class Main {
                             System.out.println("📋 Número: #" + pedidoAssociado.getNumeroPedido());
                             System.out.println("👤 Cliente: " + pedidoAssociado.getCliente().getNome());
                             System.out.println("📇 CPF: " + pedidoAssociado.getCliente().getCpf());
-                            System.out.println("💰 Valor: R$ " + String.format("%.2f", pedidoAssociado.getTotal()));
+                            System.out.println("💰 Valor: " + pedidoAssociado.getTotal().formatar());
                             System.out.println("📊 Status: " + pedidoAssociado.getStatus());
                         } else {
                             System.out.println("\n⚠️ Nenhum pedido associado a este boleto");
@@ -1661,13 +1836,7 @@ public class Main {
                         }
                         
                         // Verificar se está associado a algum pedido
-                        br.edu.ifpi.Model.Pedido pedidoAssociado = null;
-                        for (br.edu.ifpi.Model.Pedido ped : pedidoDAO.listarTodos()) {
-                            if (ped.getPagamento() != null && ped.getPagamento().getId().equals(pagamentoRem.getId())) {
-                                pedidoAssociado = ped;
-                                break;
-                            }
-                        }
+                        br.edu.ifpi.Model.Pedido pedidoAssociado = pedidoDAO.buscarPorPagamento(pagamentoRem.getId());
                         
                         if (pedidoAssociado != null) {
                             System.out.println("⚠️ ATENÇÃO: Este boleto está associado ao Pedido #" + pedidoAssociado.getNumeroPedido());
@@ -1677,12 +1846,20 @@ public class Main {
                                 System.out.println("❌ Remoção cancelada.");
                                 break;
                             }
-                            // Desvincular do pedido
-                            pedidoAssociado.setPagamento(null);
-                            pedidoDAO.atualizar(pedidoAssociado);
                         }
                         
-                        dao.remover(pagamentoRem);
+                        // Desvincula do pedido (só pagamento_id, sem merge) e remove o boleto na mesma transação
+                        boolean removido = br.edu.ifpi.DAO.UnidadeDeTrabalho.executar(em -> {
+                            if (pedidoAssociado != null) {
+                                pedidoDAO.desvincularPagamento(em, pedidoAssociado.getNumeroPedido());
+                            }
+                            dao.remover(em, pagamentoRem.getId());
+                            return true;
+                        });
+                        if (!removido) {
+                            System.out.println("❌ Erro ao remover o boleto.");
+                            break;
+                        }
                         System.out.println("✅ Boleto removido com sucesso!");
                         
                     } catch (Exception e) {
@@ -0,0 +1,55 @@
+package br.edu.ifpi;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coleta o tempo de espera por conexão informado pelo HikariCP
+ * Usado por JPAUtil para montar as EstatisticasPool
+ */
+public class MetricasPool implements MetricsTrackerFactory {
+    private final LongAdder aquisicoes = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                aquisicoes.increment();
+                esperaTotalNanos.add(elapsedAcquiredNanos);
+                esperaMaximaNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public long getAquisicoes() {
+        return aquisicoes.sum();
+    }
+
+    /**
+     * @return Tempo médio de espera por conexão em milissegundos
+     */
+    public double getEsperaMediaMs() {
+        long total = aquisicoes.sum();
+        return total == 0 ? 0.0 : esperaTotalNanos.sum() / (total * 1_000_000.0);
+    }
+
+    public double getEsperaMaximaMs() {
+        return esperaMaximaNanos.get() / 1_000_000.0;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
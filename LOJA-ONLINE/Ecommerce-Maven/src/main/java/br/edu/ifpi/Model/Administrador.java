@@ -30,13 +30,17 @@ public class Administrador extends Usuario {
 
     /**
      * Remove um produto do sistema (conforme diagrama UML)
+     * Remoção lógica: o produto sai do catálogo, mas os pedidos antigos continuam com ele
      * @param produto Produto a ser removido
      */
     public void removerProduto(Produto produto) {
         if (produto != null) {
             br.edu.ifpi.DAO.ProdutoDAO dao = new br.edu.ifpi.DAO.ProdutoDAO();
-            dao.remover(produto);
-            System.out.println("Produto removido pelo administrador: " + produto.getNome());
+            if (dao.desativar(produto.getId())) {
+                System.out.println("Produto removido pelo administrador: " + produto.getNome());
+            } else {
+                System.out.println("Produto não encontrado ou já removido: " + produto.getNome());
+            }
         }
     }
 
@@ -52,7 +56,7 @@ public class Administrador extends Usuario {
             System.out.println("Data: " + pedido.getData());
             System.out.println("Status: " + pedido.getStatus());
             System.out.println("Total de itens: " + pedido.getItens().size());
-            System.out.println("Valor total: R$ " + String.format("%.2f", pedido.getTotal()));
+            System.out.println("Valor total: " + pedido.getTotal().formatar());
             System.out.println("Pagamento: " + (pedido.getPagamento() != null ? pedido.getPagamento().getClass().getSimpleName() : "Não definido"));
         }
     }
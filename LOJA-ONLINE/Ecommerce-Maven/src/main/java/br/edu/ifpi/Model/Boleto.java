@@ -3,15 +3,25 @@ package br.edu.ifpi.Model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
+/**
+ * vencimento é date indexado: a varredura de boletos vencidos (BoletoDAO.buscarVencendoAte)
+ * lê só a faixa de datas pedida
+ */
 @Entity
-@Table(name = "boleto")
+@Table(name = "boleto", indexes = @Index(name = "idx_boleto_vencimento", columnList = "vencimento"))
 public class Boleto extends Pagamento {
+    /** Formato de exibição do vencimento */
+    public static final DateTimeFormatter FORMATO_VENCIMENTO = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     @Column(name = "codigo_boleto", nullable = false)
     private String codigoBoleto;
 
     @Column(name = "vencimento")
-    private String vencimento;
+    private LocalDate vencimento;
 
     // Construtor padrão
     public Boleto() {
@@ -25,14 +35,14 @@ public class Boleto extends Pagamento {
     }
 
     // Construtor completo
-    public Boleto(String codigoBoleto, String vencimento) {
+    public Boleto(String codigoBoleto, LocalDate vencimento) {
         super();
         this.codigoBoleto = codigoBoleto;
         this.vencimento = vencimento;
     }
 
     // Construtor com valor
-    public Boleto(String codigoBoleto, String vencimento, Double valor) {
+    public Boleto(String codigoBoleto, LocalDate vencimento, Dinheiro valor) {
         super();
         this.codigoBoleto = codigoBoleto;
         this.vencimento = vencimento;
@@ -42,8 +52,13 @@ public class Boleto extends Pagamento {
     public String getCodigoBoleto() { return codigoBoleto; }
     public void setCodigoBoleto(String codigoBoleto) { this.codigoBoleto = codigoBoleto; }
 
-    public String getVencimento() { return vencimento; }
-    public void setVencimento(String vencimento) { this.vencimento = vencimento; }
+    public LocalDate getVencimento() { return vencimento; }
+    public void setVencimento(LocalDate vencimento) { this.vencimento = vencimento; }
+
+    /** Vencimento como dd/MM/yyyy, ou null se não definido */
+    public String getVencimentoFormatado() {
+        return vencimento != null ? vencimento.format(FORMATO_VENCIMENTO) : null;
+    }
 
     /**
      * Emite o boleto conforme diagrama UML
@@ -53,10 +68,10 @@ public class Boleto extends Pagamento {
         if (this.codigoBoleto != null && !this.codigoBoleto.isEmpty()) {
             System.out.println("✅ Boleto emitido: " + this.codigoBoleto);
             if (this.vencimento != null) {
-                System.out.println("📅 Vencimento: " + this.vencimento);
+                System.out.println("📅 Vencimento: " + getVencimentoFormatado());
             }
             if (this.getValor() != null) {
-                System.out.println("💵 Valor: R$ " + String.format("%.2f", this.getValor()));
+                System.out.println("💵 Valor: " + this.getValor().formatar());
             }
             return true;
         }
@@ -80,7 +95,7 @@ public class Boleto extends Pagamento {
      * @return ResultadoPagamento com valor e status
      */
     @Override
-    public ResultadoPagamento processarPagamento(Double valor) {
+    public ResultadoPagamento processarPagamento(Dinheiro valor) {
         boolean sucesso = emitirBoleto();
         return new ResultadoPagamento(valor, sucesso);
     }
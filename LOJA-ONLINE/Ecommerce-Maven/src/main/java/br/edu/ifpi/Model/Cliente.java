@@ -8,10 +8,30 @@ import jakarta.persistence.OneToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedSubgraph;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Associações são LAZY; cliente-historico carrega o histórico com o pagamento de cada pedido
+ * (a listagem usa a projeção ClienteResumo)
+ * Remoção é lógica (ativo = false): os DAOs só listam/buscam clientes ativos e os pedidos continuam no banco
+ * Email e CPF continuam únicos entre ativos e removidos: quem se cadastra de novo com o CPF ou email
+ * de um cliente removido reativa esse cadastro (ClienteDAO.cadastrar)
+ */
 @Entity
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = "cliente-historico", attributeNodes = {
+        @NamedAttributeNode(value = "historico", subgraph = "historico-pedidos")
+    }, subgraphs = {
+        @NamedSubgraph(name = "historico-pedidos", attributeNodes = @NamedAttributeNode(value = "itensPedidos", subgraph = "pedido-pagamento")),
+        @NamedSubgraph(name = "pedido-pagamento", attributeNodes = @NamedAttributeNode("pagamento"))
+    })
+})
 @Table(name = "cliente")
 public class Cliente extends Usuario {
     @Column(name = "cpf", nullable = false, unique = true, length = 14)
@@ -20,13 +40,19 @@ public class Cliente extends Usuario {
     @Column(name = "endereco", nullable = false)
     private String endereco;
 
-    @OneToMany(mappedBy = "cliente", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "cliente", fetch = FetchType.LAZY)
     private List<Pedido> pedidos = new ArrayList<>();
 
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "historico_id")
     private Historico historico;
 
+    @Column(name = "ativo", nullable = false)
+    private Boolean ativo = true;
+
+    @Column(name = "removido_em")
+    private LocalDateTime removidoEm;
+
     // Construtor padrão
     public Cliente() {
         super();
@@ -53,6 +79,15 @@ public class Cliente extends Usuario {
     public Historico getHistorico() { return historico; }
     public void setHistorico(Historico historico) { this.historico = historico; }
 
+    public boolean isAtivo() { return Boolean.TRUE.equals(ativo); }
+    public LocalDateTime getRemovidoEm() { return removidoEm; }
+
+    /** Desfaz a remoção lógica */
+    public void reativar() {
+        this.ativo = true;
+        this.removidoEm = null;
+    }
+
     /**
      * Adiciona um pedido ao histórico do cliente
      * Conforme diagrama UML - adiciona ao histórico do cliente
@@ -0,0 +1,116 @@
+package br.edu.ifpi.Model;
+
+import java.io.Serializable;
+
+/**
+ * Valor em reais guardado como centavos num long: somas e multiplicações são exatas
+ * (sem o arredondamento de double) e não criam objetos intermediários quando feitas
+ * sobre centavos(); o banco grava os centavos (bigint) pelo DinheiroConverter
+ * Serializable porque o cache de segundo nível guarda o valor do atributo como está
+ */
+public record Dinheiro(long centavos) implements Comparable<Dinheiro>, Serializable {
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Converte um valor digitado como double, arredondando para o centavo mais próximo
+     * @throws IllegalArgumentException se o valor não for finito ou não couber em centavos num long
+     */
+    public static Dinheiro deReais(double reais) {
+        if (Double.isNaN(reais) || Double.isInfinite(reais)) {
+            throw new IllegalArgumentException("Valor inválido: " + reais);
+        }
+        double centavos = reais * 100;
+        // Math.round satura em Long.MIN_VALUE/MAX_VALUE em vez de falhar
+        if (centavos >= 0x1p63 || centavos < -0x1p63) {
+            throw new IllegalArgumentException("Valor fora do intervalo: " + reais);
+        }
+        return deCentavos(Math.round(centavos));
+    }
+
+    /**
+     * Lê "12", "12.5", "12,50" ou "-3.99" sem passar por double
+     * @throws NumberFormatException se o texto não for um valor com até 2 casas decimais
+     *         ou não couber em centavos num long
+     */
+    public static Dinheiro parse(String texto) {
+        String valor = texto.trim();
+        boolean negativo = valor.startsWith("-");
+        if (negativo || valor.startsWith("+")) {
+            valor = valor.substring(1);
+        }
+        int separador = Math.max(valor.indexOf('.'), valor.indexOf(','));
+        String reais = separador < 0 ? valor : valor.substring(0, separador);
+        String fracao = separador < 0 ? "" : valor.substring(separador + 1);
+        if (reais.isEmpty() || fracao.length() > 2 || !somenteDigitos(reais) || !somenteDigitos(fracao)) {
+            throw new NumberFormatException("Valor monetário inválido: " + texto);
+        }
+        try {
+            long centavos = Math.addExact(Math.multiplyExact(Long.parseLong(reais), 100L),
+                    fracao.isEmpty() ? 0 : Long.parseLong(fracao.length() == 1 ? fracao + "0" : fracao));
+            return deCentavos(negativo ? -centavos : centavos);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Valor monetário fora do intervalo: " + texto);
+        }
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro menos(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro vezes(long quantidade) {
+        return deCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    public boolean isPositivo() { return centavos > 0; }
+    public boolean isNegativo() { return centavos < 0; }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    /**
+     * Escreve o valor com duas casas no StringBuilder, sem String.format
+     * @param separador '.' para arquivos (CSV/JSON) ou ',' para a tela
+     */
+    public StringBuilder escrever(StringBuilder destino, char separador) {
+        long reais = centavos / 100;
+        long resto = Math.abs(centavos % 100);
+        if (centavos < 0 && reais == 0) {
+            destino.append('-');
+        }
+        destino.append(reais).append(separador);
+        if (resto < 10) {
+            destino.append('0');
+        }
+        return destino.append(resto);
+    }
+
+    /** Formato da tela: "R$ 1234,50" */
+    public String formatar() {
+        return escrever(new StringBuilder(24).append("R$ "), ',').toString();
+    }
+
+    /** Formato de arquivo, aceito por parse: "1234.50" */
+    @Override
+    public String toString() {
+        return escrever(new StringBuilder(21), '.').toString();
+    }
+
+    private static boolean somenteDigitos(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) < '0' || texto.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.ifpi.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava Dinheiro como centavos (bigint); aplicado automaticamente a todo atributo Dinheiro
+ */
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Dinheiro valor) {
+        return valor != null ? valor.centavos() : null;
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(Long centavos) {
+        return centavos != null ? Dinheiro.deCentavos(centavos) : null;
+    }
+}
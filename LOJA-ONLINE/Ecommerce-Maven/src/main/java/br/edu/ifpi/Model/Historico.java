@@ -12,10 +12,16 @@ import java.util.List;
 @Table(name = "historico")
 public class Historico {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_seq")
+    @SequenceGenerator(name = "historico_seq", sequenceName = "historico_seq", allocationSize = 50)
     private Long id;
 
-    @OneToMany(fetch = FetchType.EAGER)
+    // Nomes iguais aos já gerados pelo Hibernate; o índice cobre a leitura dos pedidos de um histórico
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "historico_pedido",
+        joinColumns = @JoinColumn(name = "Historico_id"),
+        inverseJoinColumns = @JoinColumn(name = "itensPedidos_numeroPedido"),
+        indexes = @Index(name = "idx_historico_pedido_historico", columnList = "Historico_id"))
     private List<Pedido> itensPedidos = new ArrayList<>();
 
     // Construtor padrão
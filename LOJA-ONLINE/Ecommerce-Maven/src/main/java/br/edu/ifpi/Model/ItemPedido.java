@@ -3,26 +3,48 @@ package br.edu.ifpi.Model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedAttributeNode;
 
+/**
+ * O preço unitário é copiado do produto quando o item é criado e o subtotal é gravado junto:
+ * totais de pedidos saem só de item_pedido e não mudam quando o preço do produto muda
+ */
 @Entity
-@Table(name = "item_pedido")
+@NamedEntityGraph(name = "item-pedido-detalhe", attributeNodes = {
+    @NamedAttributeNode("produto"),
+    @NamedAttributeNode("pedido")
+})
+@Table(name = "item_pedido", indexes = {
+    @Index(name = "idx_item_pedido_produto", columnList = "produto_id"),
+    @Index(name = "idx_item_pedido_pedido", columnList = "pedido_numeroPedido")
+})
 public class ItemPedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Produto produto;
 
     @Column(name = "quantidade", nullable = false)
     private Integer quantidade; // Integer para aceitar NULL do banco
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @Column(name = "preco_unitario")
+    private Dinheiro precoUnitario; // Preço do produto no momento da compra
+
+    @Column(name = "subtotal")
+    private Dinheiro subtotal; // precoUnitario × quantidade
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private Pedido pedido;
 
     // Construtor padrão
@@ -33,6 +55,9 @@ public class ItemPedido {
         this.produto = produto;
         this.quantidade = quantidade;
         this.pedido = pedido;
+        this.precoUnitario = produto != null ? produto.getPreco() : null;
+        // Item novo ainda não está nos itens do pedido: não há diferença a repassar ao total
+        this.subtotal = calcularSubtotal(this.precoUnitario, this.quantidade);
     }
 
     public Long getId() { return id; }
@@ -42,7 +67,18 @@ public class ItemPedido {
     public void setProduto(Produto produto) { this.produto = produto; }
 
     public Integer getQuantidade() { return quantidade; }
-    public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+        atualizarSubtotal();
+    }
+
+    public Dinheiro getPrecoUnitario() { return precoUnitario; }
+    public void setPrecoUnitario(Dinheiro precoUnitario) {
+        this.precoUnitario = precoUnitario;
+        atualizarSubtotal();
+    }
+
+    public Dinheiro getSubtotal() { return subtotal; }
 
     public Pedido getPedido() { return pedido; }
     public void setPedido(Pedido pedido) { this.pedido = pedido; }
@@ -68,14 +104,23 @@ public class ItemPedido {
     }
 
     /**
-     * Calcula o subtotal do item (preço × quantidade)
-     * Conforme diagrama UML: getDouble(): double
-     * @return Subtotal do item
+     * Retorna o subtotal do item (preço unitário gravado × quantidade), sem consultar o produto
+     * Conforme diagrama UML: getDouble(): double (o nome ficou; o valor agora é Dinheiro)
+     * @return Subtotal do item (ZERO se não há preço ou quantidade)
      */
-    public Double getDouble() {
-        if (this.produto != null && this.produto.getPreco() != null && this.quantidade != null) {
-            return this.produto.getPreco() * this.quantidade;
-        }
-        return 0.0;
+    public Dinheiro getDouble() {
+        return this.subtotal != null ? this.subtotal : Dinheiro.ZERO;
+    }
+
+    /**
+     * Recalcula o subtotal. O total do pedido não é tocado aqui: para um item que já está
+     * no pedido, use Pedido.alterarQuantidade, que repassa a diferença
+     */
+    private void atualizarSubtotal() {
+        this.subtotal = calcularSubtotal(this.precoUnitario, this.quantidade);
+    }
+
+    private static Dinheiro calcularSubtotal(Dinheiro precoUnitario, Integer quantidade) {
+        return precoUnitario != null && quantidade != null ? precoUnitario.vezes(quantidade) : null;
     }
 }
@@ -0,0 +1,85 @@
+package br.edu.ifpi.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Bloco de linhas de um arquivo de catálogo já importado (ImportadorProdutos)
+ * É gravado na mesma transação dos produtos do bloco: ao retomar uma importação
+ * interrompida, os blocos registrados aqui são pulados e nenhum produto entra duas vezes
+ */
+@Entity
+@Table(name = "importacao_lote", indexes = @Index(name = "idx_importacao_lote_hash", columnList = "hash"))
+public class LoteImportacao {
+    /** hash + ":" + linhaInicial; a chave primária impede o mesmo bloco duas vezes */
+    @Id
+    @Column(name = "chave", length = 300)
+    private String chave;
+
+    /** SHA-256 do conteúdo do arquivo: é por ele que a importação é retomada */
+    @Column(name = "hash", nullable = false, length = 64)
+    private String hash;
+
+    /** Nome do arquivo importado, só para consulta */
+    @Column(name = "arquivo", nullable = false)
+    private String arquivo;
+
+    @Column(name = "linha_inicial", nullable = false)
+    private Integer linhaInicial;
+
+    @Column(name = "linha_final", nullable = false)
+    private Integer linhaFinal;
+
+    @Column(name = "importados", nullable = false)
+    private Integer importados;
+
+    @Column(name = "erros", nullable = false)
+    private Integer erros;
+
+    @Column(name = "importado_em", nullable = false)
+    private LocalDateTime importadoEm;
+
+    public LoteImportacao() {}
+
+    public LoteImportacao(String hash, String arquivo, int linhaInicial, int linhaFinal, int importados, int erros) {
+        this.chave = hash + ":" + linhaInicial;
+        this.hash = hash;
+        this.arquivo = arquivo;
+        this.linhaInicial = linhaInicial;
+        this.linhaFinal = linhaFinal;
+        this.importados = importados;
+        this.erros = erros;
+        this.importadoEm = LocalDateTime.now();
+    }
+
+    public String getChave() { return chave; }
+
+    public String getHash() { return hash; }
+
+    public String getArquivo() { return arquivo; }
+
+    public Integer getLinhaInicial() { return linhaInicial; }
+
+    public Integer getLinhaFinal() { return linhaFinal; }
+
+    public Integer getImportados() { return importados; }
+
+    public Integer getErros() { return erros; }
+
+    public LocalDateTime getImportadoEm() { return importadoEm; }
+
+    @Override
+    public String toString() {
+        return "LoteImportacao{" +
+                "arquivo='" + arquivo + '\'' +
+                ", hash='" + hash + '\'' +
+                ", linhas=" + linhaInicial + "-" + linhaFinal +
+                ", importados=" + importados +
+                ", erros=" + erros +
+                '}';
+    }
+}
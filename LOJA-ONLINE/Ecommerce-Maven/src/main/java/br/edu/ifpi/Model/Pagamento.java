@@ -5,50 +5,64 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Column;
 
+/**
+ * statusPagamento é um StatusPagamento (smallint); só pendentes podem ser marcados como pagos
+ */
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "pagamento")
 public abstract class Pagamento {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_seq")
+    @SequenceGenerator(name = "pagamento_seq", sequenceName = "pagamento_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "valor")
-    private Double valor;
+    private Dinheiro valor;
 
-    @Column(name = "status_pagamento")
-    private String statusPagamento; // "PENDENTE" ou "PAGO"
+    @Column(name = "status_pagamento", nullable = false)
+    private StatusPagamento statusPagamento;
 
     // Construtor padrão
     public Pagamento() {
-        this.statusPagamento = "PENDENTE";
+        this.statusPagamento = StatusPagamento.PENDENTE;
     }
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public Double getValor() { return valor; }
-    public void setValor(Double valor) { this.valor = valor; }
+    public Dinheiro getValor() { return valor; }
+    public void setValor(Dinheiro valor) { this.valor = valor; }
 
-    public String getStatusPagamento() { return statusPagamento; }
-    public void setStatusPagamento(String statusPagamento) { this.statusPagamento = statusPagamento; }
+    public StatusPagamento getStatusPagamento() { return statusPagamento; }
+
+    /**
+     * @throws IllegalStateException se o status atual não pode passar para o novo
+     */
+    public void setStatusPagamento(StatusPagamento statusPagamento) {
+        if (this.statusPagamento != null) {
+            this.statusPagamento.validarMudancaPara(statusPagamento);
+        }
+        this.statusPagamento = statusPagamento;
+    }
 
     /**
      * Marca o pagamento como pago
      */
     public void marcarComoPago() {
-        this.statusPagamento = "PAGO";
+        setStatusPagamento(StatusPagamento.PAGO);
     }
 
     /**
      * Verifica se o pagamento foi realizado
      */
     public boolean isPago() {
-        return "PAGO".equals(this.statusPagamento);
+        return this.statusPagamento == StatusPagamento.PAGO;
     }
 
     /**
@@ -64,5 +78,5 @@ public abstract class Pagamento {
      * @param valor Valor a ser processado
      * @return ResultadoPagamento contendo valor e status
      */
-    public abstract ResultadoPagamento processarPagamento(Double valor);
+    public abstract ResultadoPagamento processarPagamento(Dinheiro valor);
 }
@@ -3,64 +3,106 @@ package br.edu.ifpi.Model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedSubgraph;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Associações são LAZY; as telas de detalhe carregam tudo de uma vez pelo grafo
+ * pedido-detalhe (cliente, pagamento e itens com produto). A listagem usa a projeção PedidoResumo
+ * O valor total fica gravado em valor_total e é ajustado a cada item adicionado,
+ * removido ou com quantidade alterada, sem percorrer os itens
+ * data é timestamp indexado: relatórios por período (PedidoDAO.buscarPorPeriodo) usam o índice
+ * status é um StatusPedido (smallint); mudanças de status seguem as transições do enum
+ */
 @Entity
-@Table(name = "pedido")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = "pedido-detalhe", attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("pagamento"),
+        @NamedAttributeNode(value = "itens", subgraph = "itens-produto")
+    }, subgraphs = {
+        @NamedSubgraph(name = "itens-produto", attributeNodes = @NamedAttributeNode("produto"))
+    })
+})
+@Table(name = "pedido", indexes = {
+    @Index(name = "idx_pedido_cliente", columnList = "cliente_id"),
+    @Index(name = "idx_pedido_valor_total", columnList = "valor_total"),
+    @Index(name = "idx_pedido_data", columnList = "data"),
+    @Index(name = "idx_pedido_status", columnList = "status, numeroPedido")
+})
 public class Pedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long numeroPedido;
 
     @Column(name = "data")
-    private String data;
+    private LocalDateTime data;
 
-    @Column(name = "status")
-    private String status;
+    @Column(name = "status", nullable = false)
+    private StatusPedido status;
 
     @Column(name = "items_pedido")
     private Integer itemsPedido; // Integer para aceitar NULL do banco - Quantidade de itens no pedido (conforme diagrama)
 
-    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @Column(name = "valor_total", nullable = false)
+    private Dinheiro valorTotal = Dinheiro.ZERO; // Soma dos subtotais dos itens
+
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ItemPedido> itens = new ArrayList<>();
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Cliente cliente;
 
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Pagamento pagamento;
 
     // Construtor padrão
     public Pedido() {
-        this.data = java.time.LocalDateTime.now().toString();
-        this.status = "PENDENTE";
+        this.data = LocalDateTime.now();
+        this.status = StatusPedido.PENDENTE;
     }
 
     // Construtor com parâmetros
     public Pedido(Cliente cliente, Pagamento pagamento) {
         this.cliente = cliente;
         this.pagamento = pagamento;
-        this.data = java.time.LocalDateTime.now().toString();
-        this.status = "PENDENTE";
+        this.data = LocalDateTime.now();
+        this.status = StatusPedido.PENDENTE;
     }
 
     public Long getNumeroPedido() { return numeroPedido; }
     public void setNumeroPedido(Long numeroPedido) { this.numeroPedido = numeroPedido; }
 
-    public String getData() { return data; }
-    public void setData(String data) { this.data = data; }
+    public LocalDateTime getData() { return data; }
+    public void setData(LocalDateTime data) { this.data = data; }
+
+    public StatusPedido getStatus() { return status; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    /**
+     * @throws IllegalStateException se o status atual não pode passar para o novo
+     */
+    public void setStatus(StatusPedido status) {
+        if (this.status != null) {
+            this.status.validarMudancaPara(status);
+        }
+        this.status = status;
+    }
 
     public Integer getItemsPedido() { return itemsPedido; }
     public void setItemsPedido(Integer itemsPedido) { this.itemsPedido = itemsPedido; }
@@ -69,6 +111,7 @@ public class Pedido {
     public void setItens(List<ItemPedido> itens) { 
         this.itens = itens; 
         this.itemsPedido = itens != null ? itens.size() : 0; // Atualiza contador
+        recalcularValorTotal();
     }
 
     public Cliente getCliente() { return cliente; }
@@ -94,18 +137,35 @@ public class Pedido {
     }
 
     /**
-     * Calcula o valor total do pedido somando todos os itens
+     * Retorna o valor total gravado no pedido (não percorre os itens)
      * Conforme diagrama UML: getTotal(): double
      * @return Total do pedido
      */
-    public Double getTotal() {
-        double total = 0.0;
-        for (ItemPedido item : itens) {
-            if (item.getProduto() != null && item.getProduto().getPreco() != null && item.getQuantidade() != null) {
-                total += item.getProduto().getPreco() * item.getQuantidade();
+    public Dinheiro getTotal() {
+        return this.valorTotal != null ? this.valorTotal : Dinheiro.ZERO;
+    }
+
+    /**
+     * Soma uma diferença ao total; chamado quando um item entra, sai ou muda de subtotal
+     * @param diferencaCentavos Centavos a somar (negativo para subtrair)
+     */
+    private void ajustarValorTotal(long diferencaCentavos) {
+        if (diferencaCentavos != 0) {
+            this.valorTotal = Dinheiro.deCentavos(Math.addExact(getTotal().centavos(), diferencaCentavos));
+        }
+    }
+
+    /**
+     * Recalcula o total somando os subtotais dos itens (carrega a coleção de itens)
+     */
+    public void recalcularValorTotal() {
+        long total = 0;
+        if (this.itens != null) {
+            for (ItemPedido item : this.itens) {
+                total = Math.addExact(total, item.getDouble().centavos());
             }
         }
-        return total;
+        this.valorTotal = Dinheiro.deCentavos(total);
     }
 
     /**
@@ -129,6 +189,7 @@ public class Pedido {
             this.itens.add(item);
             item.setPedido(this);
             this.itemsPedido = this.itens.size(); // Atualiza contador
+            ajustarValorTotal(item.getDouble().centavos());
         }
     }
     
@@ -138,12 +199,39 @@ public class Pedido {
      * @param item Item a ser removido
      */
     public void removerItem(ItemPedido item) {
-        if (item != null) {
-            this.itens.remove(item);
+        if (item != null && this.itens.remove(item)) {
             this.itemsPedido = this.itens.size(); // Atualiza contador
+            ajustarValorTotal(-item.getDouble().centavos());
         }
     }
     
+    /**
+     * Altera a quantidade de um item deste pedido e soma ao total a diferença do subtotal
+     * @param item Item do pedido
+     * @param quantidade Nova quantidade
+     */
+    public void alterarQuantidade(ItemPedido item, Integer quantidade) {
+        long anterior = item.getDouble().centavos();
+        item.setQuantidade(quantidade);
+        if (this.itens.contains(item)) {
+            ajustarValorTotal(item.getDouble().centavos() - anterior);
+        }
+    }
+
+    /**
+     * Busca um item já carregado neste pedido
+     * @param id Id do item
+     * @return o item, ou null se não pertence ao pedido
+     */
+    public ItemPedido buscarItem(Long id) {
+        for (ItemPedido item : this.itens) {
+            if (item.getId() != null && item.getId().equals(id)) {
+                return item;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Finaliza o pedido processando o pagamento
      * Conforme diagrama UML - relacionamento Pedido → Pagamento
@@ -160,17 +248,24 @@ public class Pedido {
             return false;
         }
         
-        // Processa o pagamento
-        boolean pagamentoOk = this.pagamento.processarPagamento();
+        if (!this.status.podeMudarPara(StatusPedido.FINALIZADO)) {
+            System.out.println("❌ Erro: Pedido " + this.status + " não pode ser finalizado!");
+            return false;
+        }
+        
+        // Processa o pagamento; um já quitado (ex.: pedido APROVADO vindo da migração V10) não é cobrado de novo
+        boolean pagamentoOk = this.pagamento.isPago() || this.pagamento.processarPagamento();
         
         if (pagamentoOk) {
-            this.status = "FINALIZADO";
+            setStatus(StatusPedido.FINALIZADO);
             System.out.println("✅ Pedido finalizado com sucesso!");
             System.out.println("📦 Número do pedido: " + this.numeroPedido);
-            System.out.println("💰 Valor total: R$ " + String.format("%.2f", this.getTotal()));
+            System.out.println("💰 Valor total: " + this.getTotal().formatar());
             return true;
         } else {
-            this.status = "PAGAMENTO_RECUSADO";
+            if (this.status.podeMudarPara(StatusPedido.PAGAMENTO_RECUSADO)) {
+                setStatus(StatusPedido.PAGAMENTO_RECUSADO);
+            }
             System.out.println("❌ Pagamento recusado!");
             return false;
         }
@@ -182,17 +277,17 @@ public class Pedido {
      * @return ResultadoPagamento com valor e status
      */
     public ResultadoPagamento processarVenda() {
-        if (this.pagamento == null || this.itens.isEmpty()) {
-            return new ResultadoPagamento(0.0, false);
+        if (this.pagamento == null || this.itens.isEmpty() || !this.status.podeMudarPara(StatusPedido.APROVADO)) {
+            return new ResultadoPagamento(Dinheiro.ZERO, false);
         }
         
-        Double valorTotal = this.getTotal();
+        Dinheiro valorTotal = this.getTotal();
         ResultadoPagamento resultado = this.pagamento.processarPagamento(valorTotal);
         
         if (resultado.isSucesso()) {
-            this.status = "APROVADO";
+            setStatus(StatusPedido.APROVADO);
         } else {
-            this.status = "RECUSADO";
+            setStatus(StatusPedido.RECUSADO);
         }
         
         return resultado;
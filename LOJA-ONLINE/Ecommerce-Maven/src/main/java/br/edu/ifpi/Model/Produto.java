@@ -6,22 +6,37 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Version;
+import jakarta.persistence.Cacheable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.LocalDateTime;
 
+/**
+ * Produtos ficam no cache de segundo nível (região "produto"), que vale
+ * para ProdutoFisico e ProdutoDigital por serem da mesma hierarquia
+ * Remoção é lógica (ativo = false): os DAOs só listam/buscam produtos ativos,
+ * mas itens de pedidos antigos continuam carregando o produto removido
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto")
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "produto")
 public abstract class Produto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome", nullable = false)
     private String nome;
 
     @Column(name = "preco", nullable = false)
-    private Double preco; // Double para aceitar NULL do banco
+    private Dinheiro preco; // centavos (ver DinheiroConverter)
 
     @Column(name = "descricao")
     private String descricao;
@@ -29,18 +44,29 @@ public abstract class Produto {
     @Column(name = "peso")
     private Double peso; // Double para aceitar NULL do banco - conforme diagrama UML
 
+    // Controle otimista: um merge com versão antiga falha em vez de sobrescrever (ex.: estoque vendido nesse meio tempo)
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "ativo", nullable = false)
+    private Boolean ativo = true;
+
+    @Column(name = "removido_em")
+    private LocalDateTime removidoEm;
+
     // Construtor padrão
     public Produto() {}
 
     // Construtor com parâmetros
-    public Produto(String nome, Double preco, String descricao) {
+    public Produto(String nome, Dinheiro preco, String descricao) {
         this.nome = nome;
         this.preco = preco;
         this.descricao = descricao;
     }
 
     // Construtor completo com peso
-    public Produto(String nome, Double preco, String descricao, Double peso) {
+    public Produto(String nome, Dinheiro preco, String descricao, Double peso) {
         this.nome = nome;
         this.preco = preco;
         this.descricao = descricao;
@@ -53,12 +79,17 @@ public abstract class Produto {
     public String getNome() { return nome; }
     public void setNome(String nome) { this.nome = nome; }
 
-    public Double getPreco() { return preco; }
-    public void setPreco(Double preco) { this.preco = preco; }
+    public Dinheiro getPreco() { return preco; }
+    public void setPreco(Dinheiro preco) { this.preco = preco; }
 
     public String getDescricao() { return descricao; }
     public void setDescricao(String descricao) { this.descricao = descricao; }
 
     public Double getPeso() { return peso; }
     public void setPeso(Double peso) { this.peso = peso; }
+
+    public Long getVersao() { return versao; }
+
+    public boolean isAtivo() { return Boolean.TRUE.equals(ativo); }
+    public LocalDateTime getRemovidoEm() { return removidoEm; }
 }
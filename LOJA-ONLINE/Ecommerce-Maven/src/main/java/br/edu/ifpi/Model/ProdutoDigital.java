@@ -19,13 +19,13 @@ public class ProdutoDigital extends Produto {
     }
 
     // Construtor com parâmetros
-    public ProdutoDigital(String nome, Double preco, String descricao, String urlDownload) {
+    public ProdutoDigital(String nome, Dinheiro preco, String descricao, String urlDownload) {
         super(nome, preco, descricao);
         this.urlDownload = urlDownload;
     }
 
     // Construtor completo
-    public ProdutoDigital(String nome, Double preco, String descricao, String urlDownload, Integer tamanhoArquivo) {
+    public ProdutoDigital(String nome, Dinheiro preco, String descricao, String urlDownload, Integer tamanhoArquivo) {
         super(nome, preco, descricao);
         this.urlDownload = urlDownload;
         this.tamanhoArquivo = tamanhoArquivo;
@@ -16,7 +16,7 @@ public class ProdutoFisico extends Produto {
     }
 
     // Construtor com parâmetros
-    public ProdutoFisico(String nome, Double preco, String descricao, Double peso, Integer estoque) {
+    public ProdutoFisico(String nome, Dinheiro preco, String descricao, Double peso, Integer estoque) {
         super(nome, preco, descricao, peso); // Chama construtor da classe base com peso
         this.estoque = estoque;
     }
@@ -5,15 +5,15 @@ package br.edu.ifpi.Model;
  * Conforme diagrama UML: processarPagamento(): double, boolean
  */
 public class ResultadoPagamento {
-    private Double valor; // Double para aceitar NULL
+    private Dinheiro valor; // null quando não houve valor a processar
     private Boolean sucesso; // Boolean para aceitar NULL
 
-    public ResultadoPagamento(Double valor, Boolean sucesso) {
+    public ResultadoPagamento(Dinheiro valor, Boolean sucesso) {
         this.valor = valor;
         this.sucesso = sucesso;
     }
 
-    public Double getValor() {
+    public Dinheiro getValor() {
         return valor;
     }
 
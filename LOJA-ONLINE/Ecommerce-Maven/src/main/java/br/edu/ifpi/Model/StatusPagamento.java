@@ -0,0 +1,40 @@
+package br.edu.ifpi.Model;
+
+/**
+ * Situação do pagamento, gravada como smallint (codigo) pelo StatusPagamentoConverter
+ * Única transição: PENDENTE → PAGO
+ */
+public enum StatusPagamento {
+    PENDENTE(1),
+    PAGO(2);
+
+    private final short codigo;
+
+    StatusPagamento(int codigo) {
+        this.codigo = (short) codigo;
+    }
+
+    public short getCodigo() { return codigo; }
+
+    public boolean podeMudarPara(StatusPagamento novo) {
+        return this == PENDENTE && novo == PAGO;
+    }
+
+    /**
+     * @throws IllegalStateException se a transição não é permitida
+     */
+    public void validarMudancaPara(StatusPagamento novo) {
+        if (!podeMudarPara(novo)) {
+            throw new IllegalStateException("Pagamento não pode passar de " + this + " para " + novo);
+        }
+    }
+
+    public static StatusPagamento deCodigo(short codigo) {
+        for (StatusPagamento status : values()) {
+            if (status.codigo == codigo) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Código de status de pagamento desconhecido: " + codigo);
+    }
+}
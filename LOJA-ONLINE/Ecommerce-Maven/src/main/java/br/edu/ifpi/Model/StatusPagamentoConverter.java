@@ -0,0 +1,21 @@
+package br.edu.ifpi.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava StatusPagamento pelo código (smallint), não pelo nome nem pela posição no enum
+ */
+@Converter(autoApply = true)
+public class StatusPagamentoConverter implements AttributeConverter<StatusPagamento, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(StatusPagamento status) {
+        return status != null ? status.getCodigo() : null;
+    }
+
+    @Override
+    public StatusPagamento convertToEntityAttribute(Short codigo) {
+        return codigo != null ? StatusPagamento.deCodigo(codigo) : null;
+    }
+}
@@ -0,0 +1,71 @@
+package br.edu.ifpi.Model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Situação do pedido, gravada como smallint (codigo) pelo StatusPedidoConverter
+ * As transições permitidas ficam só aqui: Pedido.setStatus e PedidoDAO.atualizarStatus consultam este enum
+ */
+public enum StatusPedido {
+    PENDENTE(1),
+    APROVADO(2),
+    RECUSADO(3),
+    FINALIZADO(4),
+    PAGAMENTO_RECUSADO(5);
+
+    private final short codigo;
+    private Set<StatusPedido> proximos;
+    private Set<StatusPedido> origens;
+
+    static {
+        PENDENTE.proximos = EnumSet.of(APROVADO, RECUSADO, FINALIZADO, PAGAMENTO_RECUSADO);
+        APROVADO.proximos = EnumSet.of(FINALIZADO);
+        // Venda recusada pode ser tentada de novo
+        RECUSADO.proximos = EnumSet.of(APROVADO, RECUSADO);
+        PAGAMENTO_RECUSADO.proximos = EnumSet.of(FINALIZADO, PAGAMENTO_RECUSADO);
+        FINALIZADO.proximos = EnumSet.noneOf(StatusPedido.class);
+        for (StatusPedido destino : values()) {
+            EnumSet<StatusPedido> origens = EnumSet.noneOf(StatusPedido.class);
+            for (StatusPedido origem : values()) {
+                if (origem.proximos.contains(destino)) {
+                    origens.add(origem);
+                }
+            }
+            destino.origens = Collections.unmodifiableSet(origens);
+            destino.proximos = Collections.unmodifiableSet(destino.proximos);
+        }
+    }
+
+    StatusPedido(int codigo) {
+        this.codigo = (short) codigo;
+    }
+
+    public short getCodigo() { return codigo; }
+
+    public boolean podeMudarPara(StatusPedido novo) {
+        return proximos.contains(novo);
+    }
+
+    /** Status a partir dos quais se pode chegar a este (usado no WHERE do UPDATE) */
+    public Set<StatusPedido> getOrigens() { return origens; }
+
+    /**
+     * @throws IllegalStateException se a transição não é permitida
+     */
+    public void validarMudancaPara(StatusPedido novo) {
+        if (!podeMudarPara(novo)) {
+            throw new IllegalStateException("Pedido não pode passar de " + this + " para " + novo);
+        }
+    }
+
+    public static StatusPedido deCodigo(short codigo) {
+        for (StatusPedido status : values()) {
+            if (status.codigo == codigo) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Código de status de pedido desconhecido: " + codigo);
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.ifpi.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava StatusPedido pelo código (smallint), não pelo nome nem pela posição no enum
+ */
+@Converter(autoApply = true)
+public class StatusPedidoConverter implements AttributeConverter<StatusPedido, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(StatusPedido status) {
+        return status != null ? status.getCodigo() : null;
+    }
+
+    @Override
+    public StatusPedido convertToEntityAttribute(Short codigo) {
+        return codigo != null ? StatusPedido.deCodigo(codigo) : null;
+    }
+}
@@ -4,13 +4,22 @@ import jakarta.persistence.*;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Clientes e administradores ficam no cache de segundo nível (região "usuario");
+ * o cache é declarado na raiz porque o Hibernate usa uma região por hierarquia
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "usuario")
 public abstract class Usuario {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome", nullable = false)
@@ -0,0 +1,24 @@
+-- pedido.status e pagamento.status_pagamento passam de texto livre para smallint
+-- (códigos de StatusPedido e StatusPagamento), com índices para as buscas por status.
+
+-- StatusPedido: 1 PENDENTE, 2 APROVADO, 3 RECUSADO, 4 FINALIZADO, 5 PAGAMENTO_RECUSADO
+alter table pedido alter column status type smallint
+    using case upper(trim(status))
+        when 'APROVADO' then 2
+        when 'RECUSADO' then 3
+        when 'FINALIZADO' then 4
+        when 'PAGAMENTO_RECUSADO' then 5
+        else 1
+    end;
+alter table pedido alter column status set not null;
+
+-- StatusPagamento: 1 PENDENTE, 2 PAGO
+alter table pagamento alter column status_pagamento type smallint
+    using case upper(trim(status_pagamento)) when 'PAGO' then 2 else 1 end;
+alter table pagamento alter column status_pagamento set not null;
+
+-- PedidoDAO.buscarPorStatus / contarPorStatus (já em ordem de número)
+create index if not exists idx_pedido_status on pedido (status, numeroPedido);
+
+-- Pagamentos pendentes são poucos perto dos pagos: índice parcial só com eles
+create index if not exists idx_pagamento_pendente on pagamento (id) where status_pagamento = 1;
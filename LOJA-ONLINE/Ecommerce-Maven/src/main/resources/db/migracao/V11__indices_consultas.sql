@@ -0,0 +1,27 @@
+-- Índices para as buscas que ainda não tinham um. Os demais já existem:
+--   usuario.email, cliente.cpf, cliente.historico_id, pedido.pagamento_id e
+--   historico_pedido.itensPedidos_numeroPedido (restrições unique);
+--   item_pedido.produto_id, item_pedido.pedido_numeroPedido, pedido.cliente_id (V3);
+--   pedido.valor_total (V7), pedido.data e boleto.vencimento (V9), pedido.status (V10).
+
+-- Login do administrador e busca de usuário (AdministradorDAO/UsuarioDAO.buscarPorEmail comparam lower(email)).
+-- Único: emails que só diferem em maiúsculas são o mesmo usuário, então a busca devolve no máximo um.
+-- Índice de expressão não dá para declarar com @Index, por isso ele existe só aqui.
+-- Requisito de dados: nenhum par de usuários pode ter emails que só diferem em maiúsculas
+-- (ex.: Ana@x.com e ana@x.com). A migração confere isso antes e, se houver, para com a lista
+-- desses emails; os cadastros têm pedidos e histórico, então junte ou corrija à mão e migre de novo.
+do $$
+declare
+    repetidos text;
+begin
+    select string_agg(email_lower, ', ' order by email_lower) into repetidos
+    from (select lower(email) as email_lower from usuario group by lower(email) having count(*) > 1) r;
+    if repetidos is not null then
+        raise exception 'V11: usuarios com o mesmo email sem diferenciar maiusculas: %. Corrija esses cadastros antes de migrar.', repetidos;
+    end if;
+end $$;
+
+create unique index if not exists idx_usuario_email_lower on usuario (lower(email));
+
+-- Pedidos de um histórico (carregamento de Historico.itensPedidos e ClienteDAO.buscarComHistorico)
+create index if not exists idx_historico_pedido_historico on historico_pedido (Historico_id);
@@ -0,0 +1,18 @@
+-- Blocos já importados de cada arquivo de catálogo (ImportadorProdutos).
+-- Cada linha é gravada na mesma transação dos produtos do bloco, então uma importação
+-- interrompida é retomada pulando os blocos daqui, sem duplicar produtos.
+-- Os blocos são identificados pelo conteúdo do arquivo (hash SHA-256), não pelo nome.
+create table if not exists importacao_lote (
+    chave varchar(300) not null,
+    hash varchar(64) not null,
+    arquivo varchar(255) not null,
+    linha_inicial integer not null,
+    linha_final integer not null,
+    importados integer not null,
+    erros integer not null,
+    importado_em timestamp(6) not null,
+    primary key (chave)
+);
+
+-- Ao retomar, os blocos do arquivo são lidos de uma vez
+create index if not exists idx_importacao_lote_hash on importacao_lote (hash);
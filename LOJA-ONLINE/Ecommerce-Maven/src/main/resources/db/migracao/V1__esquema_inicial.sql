@@ -0,0 +1,147 @@
+-- Esquema inicial, equivalente ao gerado pelo Hibernate (hbm2ddl) antes das migrações
+-- Bancos já existentes são marcados como baseline nesta versão e não executam este script
+
+create table administrador (
+    id bigint not null,
+    primary key (id)
+);
+
+create table boleto (
+    codigo_boleto varchar(255) not null,
+    vencimento varchar(255),
+    id bigint not null,
+    primary key (id)
+);
+
+create table cliente (
+    cpf varchar(14) not null unique,
+    endereco varchar(255) not null,
+    id bigint not null,
+    historico_id bigint unique,
+    primary key (id)
+);
+
+create table historico (
+    id bigserial not null,
+    primary key (id)
+);
+
+create table historico_pedido (
+    Historico_id bigint not null,
+    itensPedidos_numeroPedido bigint not null unique
+);
+
+create table item_pedido (
+    id bigserial not null,
+    quantidade integer not null,
+    pedido_numeroPedido bigint,
+    produto_id bigint,
+    primary key (id)
+);
+
+create table pagamento (
+    id bigserial not null,
+    status_pagamento varchar(255),
+    valor float(53),
+    primary key (id)
+);
+
+create table pedido (
+    numeroPedido bigserial not null,
+    data varchar(255),
+    items_pedido integer,
+    status varchar(255),
+    cliente_id bigint,
+    pagamento_id bigint unique,
+    primary key (numeroPedido)
+);
+
+create table produto (
+    id bigserial not null,
+    descricao varchar(255),
+    nome varchar(255) not null,
+    peso float(53),
+    preco float(53) not null,
+    primary key (id)
+);
+
+create table produto_digital (
+    tamanho_arquivo integer,
+    url_download varchar(255),
+    id bigint not null,
+    primary key (id)
+);
+
+create table produto_fisico (
+    estoque integer,
+    id bigint not null,
+    primary key (id)
+);
+
+create table usuario (
+    id bigserial not null,
+    email varchar(255) not null unique,
+    nome varchar(255) not null,
+    senha varchar(255) not null,
+    primary key (id)
+);
+
+alter table if exists administrador
+   add constraint FK2pojw9weqmkc0476cs86vyyrb
+   foreign key (id)
+   references usuario;
+
+alter table if exists boleto
+   add constraint FKtdc1glsfordr3q9765tdabj3l
+   foreign key (id)
+   references pagamento;
+
+alter table if exists cliente
+   add constraint FKpg372yoock7fudu0egl72xxwo
+   foreign key (historico_id)
+   references historico;
+
+alter table if exists cliente
+   add constraint FKsitxst8o302fspskxfjatuyrl
+   foreign key (id)
+   references usuario;
+
+alter table if exists historico_pedido
+   add constraint FKf0tqbfedvbe6dqf2cq2x3ia59
+   foreign key (itensPedidos_numeroPedido)
+   references pedido;
+
+alter table if exists historico_pedido
+   add constraint FKae7k0244cgmxnd3l910hjbix3
+   foreign key (Historico_id)
+   references historico;
+
+alter table if exists item_pedido
+   add constraint FKcahiwsjw6ntyvdlx0wxfj47eg
+   foreign key (pedido_numeroPedido)
+   references pedido;
+
+alter table if exists item_pedido
+   add constraint FKtk55mn6d6bvl5h0no5uagi3sf
+   foreign key (produto_id)
+   references produto;
+
+alter table if exists pedido
+   add constraint FK30s8j2ktpay6of18lbyqn3632
+   foreign key (cliente_id)
+   references cliente;
+
+alter table if exists pedido
+   add constraint FKd8wwc5gy5hnijj7iki22jeorn
+   foreign key (pagamento_id)
+   references pagamento;
+
+alter table if exists produto_digital
+   add constraint FKnf3yrck0walor7ml2fp0d637l
+   foreign key (id)
+   references produto;
+
+alter table if exists produto_fisico
+   add constraint FKf2817n5mujbv4o6mmqfphmqgx
+   foreign key (id)
+   references produto;
@@ -0,0 +1,21 @@
+-- IDs passam de IDENTITY (bigserial) para sequências com alocação em blocos de 50 (otimizador pooled-lo),
+-- permitindo que o Hibernate agrupe os INSERTs em lotes JDBC.
+-- Cada sequência começa depois do maior ID já gravado para não colidir com os registros existentes.
+
+create sequence if not exists usuario_seq start with 1 increment by 50;
+select setval('usuario_seq', coalesce((select max(id) from usuario), 0) + 1, false);
+
+create sequence if not exists produto_seq start with 1 increment by 50;
+select setval('produto_seq', coalesce((select max(id) from produto), 0) + 1, false);
+
+create sequence if not exists pedido_seq start with 1 increment by 50;
+select setval('pedido_seq', coalesce((select max(numeroPedido) from pedido), 0) + 1, false);
+
+create sequence if not exists item_pedido_seq start with 1 increment by 50;
+select setval('item_pedido_seq', coalesce((select max(id) from item_pedido), 0) + 1, false);
+
+create sequence if not exists pagamento_seq start with 1 increment by 50;
+select setval('pagamento_seq', coalesce((select max(id) from pagamento), 0) + 1, false);
+
+create sequence if not exists historico_seq start with 1 increment by 50;
+select setval('historico_seq', coalesce((select max(id) from historico), 0) + 1, false);
@@ -0,0 +1,9 @@
+-- Índices nas chaves estrangeiras usadas nas buscas reversas dos DAOs
+-- (ItemPedidoDAO.buscarPorProduto, PedidoDAO.buscarPorCliente e o carregamento dos itens de um pedido).
+-- pedido.pagamento_id já é indexado pela restrição unique.
+
+create index if not exists idx_item_pedido_produto on item_pedido (produto_id);
+
+create index if not exists idx_item_pedido_pedido on item_pedido (pedido_numeroPedido);
+
+create index if not exists idx_pedido_cliente on pedido (cliente_id);
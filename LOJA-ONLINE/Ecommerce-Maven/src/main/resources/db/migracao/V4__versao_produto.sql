@@ -0,0 +1,4 @@
+-- Controle otimista de concorrência em produto (@Version em Produto).
+-- ProdutoFisicoDAO.baixarEstoque/devolverEstoque incrementam a versão junto com o UPDATE condicional de estoque.
+
+alter table produto add column if not exists versao bigint not null default 0;
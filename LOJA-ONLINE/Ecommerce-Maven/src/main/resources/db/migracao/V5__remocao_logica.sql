@@ -0,0 +1,15 @@
+-- Remoção lógica de produtos e clientes: o registro fica no banco com ativo = false,
+-- então itens de pedidos antigos continuam apontando para o produto removido.
+
+alter table produto add column if not exists ativo boolean not null default true;
+alter table produto add column if not exists removido_em timestamp(6);
+
+alter table cliente add column if not exists ativo boolean not null default true;
+alter table cliente add column if not exists removido_em timestamp(6);
+
+-- Índices parciais só com as linhas ativas, que são as que as listagens (ordenadas pelo id) leem.
+-- Não dá para declarar índice parcial com @Index, por isso eles existem só aqui.
+
+create index if not exists idx_produto_ativo on produto (id) where ativo;
+
+create index if not exists idx_cliente_ativo on cliente (id) where ativo;
@@ -0,0 +1,17 @@
+-- Preço unitário e subtotal gravados no item quando ele é adicionado ao pedido:
+-- totais saem de item_pedido sem JOIN com produto e não mudam quando o preço do produto muda.
+
+alter table item_pedido add column if not exists preco_unitario float(53);
+alter table item_pedido add column if not exists subtotal float(53);
+
+-- Itens já existentes recebem o preço atual do produto (é o que os totais mostravam até aqui)
+update item_pedido i
+   set preco_unitario = p.preco
+  from produto p
+ where p.id = i.produto_id
+   and i.preco_unitario is null;
+
+update item_pedido
+   set subtotal = preco_unitario * quantidade
+ where subtotal is null
+   and preco_unitario is not null;
@@ -0,0 +1,9 @@
+-- Total do pedido gravado em pedido.valor_total (ajustado pela aplicação a cada item adicionado,
+-- removido ou alterado), para listar, filtrar e ordenar por valor sem somar os itens.
+
+alter table pedido add column if not exists valor_total float(53) not null default 0;
+
+update pedido p
+   set valor_total = coalesce((select sum(i.subtotal) from item_pedido i where i.pedido_numeroPedido = p.numeroPedido), 0);
+
+create index if not exists idx_pedido_valor_total on pedido (valor_total);
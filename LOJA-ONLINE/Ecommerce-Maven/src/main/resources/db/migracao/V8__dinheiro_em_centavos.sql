@@ -0,0 +1,15 @@
+-- Valores monetários passam de float(53) em reais para bigint em centavos (Dinheiro + DinheiroConverter):
+-- somas no banco e na aplicação ficam exatas. Os valores existentes são arredondados para o centavo.
+
+alter table produto alter column preco type bigint using round(preco * 100);
+alter table pagamento alter column valor type bigint using round(valor * 100);
+alter table item_pedido alter column preco_unitario type bigint using round(preco_unitario * 100);
+alter table item_pedido alter column subtotal type bigint using round(subtotal * 100);
+
+-- O total é refeito a partir dos subtotais já arredondados, para bater centavo a centavo com a soma dos itens
+alter table pedido alter column valor_total drop default;
+alter table pedido alter column valor_total type bigint using round(valor_total * 100);
+alter table pedido alter column valor_total set default 0;
+
+update pedido p
+   set valor_total = coalesce((select sum(i.subtotal) from item_pedido i where i.pedido_numeroPedido = p.numeroPedido), 0);
@@ -0,0 +1,16 @@
+-- pedido.data e boleto.vencimento deixam de ser texto: timestamp e date podem ser comparados
+-- e indexados, então buscas por período e por vencimento viram varreduras de faixa no índice.
+
+-- pedido.data era LocalDateTime.toString() (ISO, ex.: 2024-05-01T10:15:30.123456)
+alter table pedido alter column data type timestamp(6)
+    using case when data ~ '^\d{4}-\d{2}-\d{2}' then replace(data, 'T', ' ')::timestamp(6) end;
+
+-- boleto.vencimento era DD/MM/YYYY (BoletoFactory); aceita também YYYY-MM-DD
+alter table boleto alter column vencimento type date
+    using case
+        when vencimento ~ '^\d{2}/\d{2}/\d{4}$' then to_date(vencimento, 'DD/MM/YYYY')
+        when vencimento ~ '^\d{4}-\d{2}-\d{2}' then to_date(substr(vencimento, 1, 10), 'YYYY-MM-DD')
+    end;
+
+create index if not exists idx_pedido_data on pedido (data);
+create index if not exists idx_boleto_vencimento on boleto (vencimento);
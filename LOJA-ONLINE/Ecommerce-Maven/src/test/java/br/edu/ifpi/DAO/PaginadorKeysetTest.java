@@ -0,0 +1,110 @@
+package br.edu.ifpi.DAO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.ProdutoFisico;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Continuação do cursor entre páginas, no H2 (o banco é compartilhado com os outros testes,
+ * então as comparações são feitas contra listarTodos e não contra quantidades fixas)
+ */
+class PaginadorKeysetTest {
+    private static final ProdutoFisicoDAO dao = new ProdutoFisicoDAO();
+    private static Long removido;
+
+    @BeforeAll
+    static void cadastrar() {
+        // Nomes repetidos: a página corta no meio de um grupo e o id desempata
+        for (String nome : new String[] {"Keyset B", "Keyset A", "Keyset B", "Keyset C", "Keyset B", "Keyset A", "Keyset B"}) {
+            dao.salvar(new ProdutoFisico(nome, Dinheiro.parse("1.00"), null, 0.1, 1));
+        }
+        ProdutoFisico produto = new ProdutoFisico("Keyset removido", Dinheiro.parse("1.00"), null, 0.1, 1);
+        dao.salvar(produto);
+        removido = produto.getId();
+        assertTrue(new ProdutoDAO().desativar(removido));
+    }
+
+    /** Percorre todas as páginas passando o cursor de uma para a seguinte */
+    private static List<ProdutoFisico> percorrer(int limite, String ordenarPor) {
+        List<ProdutoFisico> todos = new ArrayList<>();
+        Pagina<ProdutoFisico> pagina = PaginadorKeyset.listar(ProdutoFisico.class, null, limite, ordenarPor);
+        while (true) {
+            assertTrue(pagina.getItens().size() <= limite);
+            todos.addAll(pagina.getItens());
+            if (!pagina.temProxima()) {
+                return todos;
+            }
+            assertEquals(limite, pagina.getItens().size(), "só a última página pode vir incompleta");
+            assertEquals(pagina.getItens().get(limite - 1).getId(), pagina.getUltimoId());
+            pagina = PaginadorKeyset.listar(ProdutoFisico.class, pagina.getProximo(), limite, ordenarPor);
+        }
+    }
+
+    private static List<Long> ids(List<ProdutoFisico> produtos) {
+        List<Long> ids = new ArrayList<>();
+        for (ProdutoFisico produto : produtos) {
+            ids.add(produto.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void ordenadoPeloIdPercorreTodosOsAtivosUmaVez() {
+        List<Long> esperados = ids(dao.listarTodos());
+        esperados.sort(Comparator.naturalOrder());
+
+        for (int limite : new int[] {1, 2, 3, esperados.size(), esperados.size() + 1}) {
+            List<Long> obtidos = ids(percorrer(limite, null));
+            assertEquals(esperados, obtidos, "limite " + limite);
+            assertFalse(obtidos.contains(removido));
+        }
+    }
+
+    @Test
+    void ordenadoPorAtributoDesempataPeloId() {
+        List<ProdutoFisico> esperados = dao.listarTodos();
+        esperados.sort(Comparator.comparing(ProdutoFisico::getNome).thenComparing(ProdutoFisico::getId));
+
+        for (int limite : new int[] {1, 2, 3}) {
+            assertEquals(ids(esperados), ids(percorrer(limite, "nome")), "limite " + limite);
+        }
+    }
+
+    @Test
+    void cursorDoAtributoGuardaOValorDoUltimoItem() {
+        Pagina<ProdutoFisico> pagina = PaginadorKeyset.listar(ProdutoFisico.class, null, 1, "nome");
+        ProdutoFisico ultimo = pagina.getItens().get(0);
+        assertEquals(ultimo.getNome(), pagina.getProximo().getValor());
+        assertEquals(ultimo.getId(), pagina.getProximo().getId());
+
+        Pagina<ProdutoFisico> porId = PaginadorKeyset.listar(ProdutoFisico.class, null, 1, null);
+        assertNull(porId.getProximo().getValor());
+    }
+
+    @Test
+    void somenteLeituraDevolveAsMesmasPaginas() {
+        Pagina<ProdutoFisico> normal = dao.listarPagina(null, 2);
+        Pagina<ProdutoFisico> leitura = dao.listarPaginaSomenteLeitura(null, 2);
+        assertEquals(ids(normal.getItens()), ids(leitura.getItens()));
+
+        normal = dao.listarPagina(normal.getUltimoId(), 2);
+        leitura = dao.listarPaginaSomenteLeitura(leitura.getUltimoId(), 2);
+        assertEquals(ids(normal.getItens()), ids(leitura.getItens()));
+    }
+
+    @Test
+    void recusaLimiteInvalidoEAtributoDesconhecido() {
+        assertThrows(IllegalArgumentException.class, () -> dao.listarPagina(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> PaginadorKeyset.listar(ProdutoFisico.class, null, 2, "inexistente"));
+    }
+}
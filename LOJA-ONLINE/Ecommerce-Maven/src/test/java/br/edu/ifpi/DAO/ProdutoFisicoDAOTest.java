@@ -0,0 +1,107 @@
+package br.edu.ifpi.DAO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+import br.edu.ifpi.JPAUtil;
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.ProdutoFisico;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Baixa de estoque e controle de versão no H2 (perfil banco-h2, ver surefire no pom.xml)
+ */
+class ProdutoFisicoDAOTest {
+    private final ProdutoFisicoDAO dao = new ProdutoFisicoDAO();
+
+    private ProdutoFisico salvar(int estoque) {
+        ProdutoFisico produto = new ProdutoFisico("Caderno", Dinheiro.parse("12,50"), "teste", 0.3, estoque);
+        dao.salvar(produto);
+        return produto;
+    }
+
+    @Test
+    void baixaAteZeroERecusaAlemDoEstoque() {
+        ProdutoFisico produto = salvar(3);
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 2));
+        assertFalse(dao.baixarEstoque(produto.getId(), 2), "baixa maior que o estoque restante");
+        assertEquals(1, dao.buscarPorId(produto.getId()).getEstoque());
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 1));
+        assertFalse(dao.baixarEstoque(produto.getId(), 1), "estoque zerado");
+        assertEquals(0, dao.buscarPorId(produto.getId()).getEstoque());
+    }
+
+    @Test
+    void devolveEstoque() {
+        ProdutoFisico produto = salvar(1);
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 1));
+        assertTrue(dao.devolverEstoque(produto.getId(), 4));
+        assertEquals(4, dao.buscarPorId(produto.getId()).getEstoque());
+    }
+
+    @Test
+    void produtoInexistenteNaoAlteraEstoque() {
+        assertFalse(dao.baixarEstoque(-1L, 1));
+        assertFalse(dao.devolverEstoque(-1L, 1));
+    }
+
+    @Test
+    void baixaIncrementaAVersao() {
+        ProdutoFisico produto = salvar(5);
+        Long versao = dao.buscarPorId(produto.getId()).getVersao();
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 1));
+        assertEquals(versao + 1, dao.buscarPorId(produto.getId()).getVersao());
+    }
+
+    @Test
+    void mergeComVersaoAntigaFalhaSemDesfazerABaixa() {
+        ProdutoFisico produto = salvar(5);
+        ProdutoFisico copiaAntiga = dao.buscarPorId(produto.getId());
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 2));
+
+        copiaAntiga.setNome("Caderno editado");
+        EntityManager em = JPAUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            assertThrows(PersistenceException.class, () -> {
+                em.merge(copiaAntiga);
+                transaction.commit();
+            });
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            em.close();
+        }
+
+        ProdutoFisico atual = dao.buscarPorId(produto.getId());
+        assertEquals(3, atual.getEstoque());
+        assertEquals("Caderno", atual.getNome());
+    }
+
+    @Test
+    void unidadeDeTrabalhoDesfazMergeComVersaoAntiga() {
+        ProdutoFisico produto = salvar(5);
+        ProdutoFisico copiaAntiga = dao.buscarPorId(produto.getId());
+
+        assertTrue(dao.baixarEstoque(produto.getId(), 1));
+
+        copiaAntiga.setEstoque(5);
+        assertFalse(UnidadeDeTrabalho.executar(em -> {
+            em.merge(copiaAntiga);
+            return true;
+        }));
+        assertEquals(4, dao.buscarPorId(produto.getId()).getEstoque());
+    }
+}
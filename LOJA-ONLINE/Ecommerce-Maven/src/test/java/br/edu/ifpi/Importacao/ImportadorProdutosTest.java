@@ -0,0 +1,88 @@
+package br.edu.ifpi.Importacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.edu.ifpi.DAO.ProdutoDAO;
+import br.edu.ifpi.Model.Produto;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Arquivo de catálogo importado no H2 e lido de volta pelo ProdutoDAO
+ */
+class ImportadorProdutosTest {
+    @TempDir
+    Path diretorio;
+
+    /** Produtos ativos cujo nome começa com prefixo, por nome */
+    private static Map<String, Produto> importados(String prefixo) {
+        Map<String, Produto> produtos = new HashMap<>();
+        for (Produto produto : new ProdutoDAO().listarTodos()) {
+            if (produto.getNome().startsWith(prefixo)) {
+                produtos.put(produto.getNome(), produto);
+            }
+        }
+        return produtos;
+    }
+
+    private Path escrever(String nome, String... linhas) throws IOException {
+        return Files.write(diretorio.resolve(nome), List.of(linhas), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void importaCsvERelataLinhasInvalidas() throws IOException {
+        Path arquivo = escrever("catalogo.csv",
+                "tipo,nome,preco,descricao,peso,estoque,url_download",
+                "fisico,\"Csv caderno, A4\",\"12,50\",,0.4,7,",
+                "digital,Csv e-book,0.10,,,,https://x/e-book",
+                "fisico,Csv sem preço,,,0.4,1,",
+                "fisico,Csv preço ruim,1.234,,0.4,1,");
+
+        ResultadoImportacao resultado = new ImportadorProdutos(2, 2).importar(arquivo);
+
+        assertEquals(4, resultado.lidas());
+        assertEquals(2, resultado.importadas());
+        assertEquals(2, resultado.erros());
+        List<String> erros = Files.readAllLines(resultado.arquivoErros(), StandardCharsets.UTF_8);
+        assertEquals(3, erros.size(), "cabeçalho e uma linha por erro");
+
+        Map<String, Produto> produtos = importados("Csv ");
+        assertEquals(2, produtos.size());
+        assertEquals(1250, produtos.get("Csv caderno, A4").getPreco().centavos());
+        assertEquals(10, produtos.get("Csv e-book").getPreco().centavos());
+    }
+
+    @Test
+    void importaJsonLinhasERetomaSemDuplicar() throws IOException {
+        Path arquivo = escrever("catalogo.jsonl",
+                "{\"tipo\": \"fisico\", \"nome\": \"Jsonl régua\", \"preco\": 3.5, \"peso\": 0.05, \"estoque\": 40}",
+                "",
+                "{\"tipo\": \"digital\", \"nome\": \"Jsonl curso\", \"preco\": \"199,90\", \"url_download\": \"https://x/curso\"}");
+
+        ResultadoImportacao primeira = new ImportadorProdutos(1, 1).importar(arquivo);
+        assertEquals(2, primeira.importadas());
+        assertEquals(0, primeira.erros());
+        assertFalse(Files.exists(primeira.arquivoErros()));
+
+        // Mesmo conteúdo, outro nome: todos os blocos já constam como importados
+        Path copia = Files.copy(arquivo, diretorio.resolve("copia.jsonl"));
+        ResultadoImportacao segunda = new ImportadorProdutos(1, 1).importar(copia);
+        assertEquals(0, segunda.importadas());
+        assertEquals(2, segunda.jaImportadas());
+
+        Map<String, Produto> produtos = importados("Jsonl ");
+        assertEquals(2, produtos.size());
+        assertEquals(350, produtos.get("Jsonl régua").getPreco().centavos());
+        assertEquals(19990, produtos.get("Jsonl curso").getPreco().centavos());
+        assertTrue(produtos.get("Jsonl régua").isAtivo());
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.ifpi.Importacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.edu.ifpi.DAO.FiltroPedido;
+import br.edu.ifpi.DAO.PedidoDAO;
+import br.edu.ifpi.Exportacao.ExportadorPedidos;
+import br.edu.ifpi.Exportacao.FormatoExportacao;
+import br.edu.ifpi.Model.Cliente;
+import br.edu.ifpi.Model.Dinheiro;
+import br.edu.ifpi.Model.ItemPedido;
+import br.edu.ifpi.Model.Pedido;
+import br.edu.ifpi.Model.Produto;
+import br.edu.ifpi.Model.ProdutoFisico;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * O CSV gerado pelo EscritorCsv (exportação) lido de volta pelo LeitorCsv (importação),
+ * sem banco: o PedidoDAO devolve um pedido montado em memória
+ */
+class LeitorCsvTest {
+    private static final String NOME_PRODUTO = "Caneta \"azul\", 0,7mm";
+    private static final String NOME_CLIENTE = "Silva, João";
+
+    private static String exportarCsv(Pedido pedido) throws IOException {
+        PedidoDAO dao = new PedidoDAO() {
+            @Override
+            public Stream<Pedido> stream(FiltroPedido filtro) {
+                return Stream.of(pedido);
+            }
+        };
+        StringWriter saida = new StringWriter();
+        assertEquals(1, new ExportadorPedidos(dao).exportar(null, FormatoExportacao.CSV, saida));
+        return saida.toString();
+    }
+
+    @Test
+    void exportacaoVoltaPeloLeitor() throws IOException {
+        Cliente cliente = new Cliente(NOME_CLIENTE, "silva@x.com", "senha123", "52998224725", "Rua A, 100");
+        Pedido pedido = new Pedido(cliente, null);
+        Produto produto = new ProdutoFisico(NOME_PRODUTO, Dinheiro.parse("2.50"), null, 0.1, 10);
+        pedido.adicionarItem(new ItemPedido(produto, 3, pedido));
+
+        String[] linhas = exportarCsv(pedido).split("\r\n");
+        assertEquals(2, linhas.length);
+
+        LeitorCsv leitor = new LeitorCsv();
+        leitor.cabecalho(linhas[0]);
+        Map<String, String> campos = leitor.ler(linhas[1]);
+
+        assertEquals(NOME_PRODUTO, campos.get("produto_nome"));
+        assertEquals(NOME_CLIENTE, campos.get("cliente_nome"));
+        assertEquals("PENDENTE", campos.get("status"));
+        assertEquals("3", campos.get("quantidade"));
+        assertEquals(produto.getPreco(), Dinheiro.parse(campos.get("preco_unitario")));
+        assertEquals(Dinheiro.parse("7.50"), Dinheiro.parse(campos.get("subtotal")));
+        assertEquals(pedido.getTotal(), Dinheiro.parse(campos.get("valor_total")));
+        // Campos nulos saem vazios e ficam fora do mapa
+        assertFalse(campos.containsKey("pagamento_tipo"));
+        assertFalse(campos.containsKey("numero_pedido"));
+    }
+
+    @Test
+    void pedidoSemItensSaiNumaLinhaComItemVazio() throws IOException {
+        String[] linhas = exportarCsv(new Pedido()).split("\r\n");
+        assertEquals(2, linhas.length);
+
+        LeitorCsv leitor = new LeitorCsv();
+        leitor.cabecalho(linhas[0]);
+        Map<String, String> campos = leitor.ler(linhas[1]);
+        assertEquals("0.00", campos.get("valor_total"));
+        assertFalse(campos.containsKey("produto_nome"));
+    }
+
+    @Test
+    void linhaDoCatalogoViraProduto() {
+        LeitorCsv leitor = new LeitorCsv();
+        leitor.cabecalho("Tipo, NOME ,preco,descricao,peso,estoque");
+        Produto produto = ImportadorProdutos.criarProduto(leitor.ler("fisico,\"Caderno \"\"A4\"\", 96 folhas\",\"12,50\",,0.4,7"));
+
+        assertEquals("Caderno \"A4\", 96 folhas", produto.getNome());
+        assertEquals(1250, produto.getPreco().centavos());
+        assertEquals(7, ((ProdutoFisico) produto).getEstoque());
+    }
+
+    @Test
+    void recusaLinhaMalFormada() {
+        LeitorCsv leitor = new LeitorCsv();
+        leitor.cabecalho("tipo,nome,preco");
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("fisico,\"sem fim,1.00"));
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("fisico,nome,1.00,extra"));
+    }
+}
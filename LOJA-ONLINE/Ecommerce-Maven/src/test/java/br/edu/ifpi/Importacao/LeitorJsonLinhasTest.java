@@ -0,0 +1,38 @@
+package br.edu.ifpi.Importacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.edu.ifpi.Model.Produto;
+import br.edu.ifpi.Model.ProdutoDigital;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LeitorJsonLinhasTest {
+    private final LeitorJsonLinhas leitor = new LeitorJsonLinhas();
+
+    @Test
+    void linhaDoCatalogoViraProduto() {
+        Map<String, String> campos = leitor.ler(
+                "{\"tipo\": \"digital\", \"Nome\": \"E-book \\\"Java\\\" \\u00e9 bom\", \"preco\": 19.90,"
+                + " \"descricao\": null, \"url_download\": \"https://x/a\\/b\", \"tamanho_arquivo\": 2048}");
+
+        assertEquals("19.90", campos.get("preco"), "número mantido como texto, sem passar por double");
+        assertFalse(campos.containsKey("descricao"));
+
+        Produto produto = ImportadorProdutos.criarProduto(campos);
+        assertEquals("E-book \"Java\" é bom", produto.getNome());
+        assertEquals(1990, produto.getPreco().centavos());
+        assertEquals("https://x/a/b", ((ProdutoDigital) produto).getUrlDownload());
+    }
+
+    @Test
+    void recusaLinhaMalFormada() {
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("{\"nome\": {\"a\": 1}}"));
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("{\"nome\": [1]}"));
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("{\"nome\": \"x\""));
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("{\"preco\": 12,50}"));
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler("{} {}"));
+    }
+}
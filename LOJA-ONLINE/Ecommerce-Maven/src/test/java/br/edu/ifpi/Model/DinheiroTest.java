@@ -0,0 +1,83 @@
+package br.edu.ifpi.Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class DinheiroTest {
+
+    @Test
+    void parseAceitaPontoVirgulaESinal() {
+        assertEquals(1200, Dinheiro.parse("12").centavos());
+        assertEquals(1250, Dinheiro.parse("12.5").centavos());
+        assertEquals(1250, Dinheiro.parse("12,50").centavos());
+        assertEquals(7, Dinheiro.parse(" 0.07 ").centavos());
+        assertEquals(-399, Dinheiro.parse("-3.99").centavos());
+        assertEquals(100, Dinheiro.parse("+1").centavos());
+        assertSame(Dinheiro.ZERO, Dinheiro.parse("0,00"));
+    }
+
+    @Test
+    void parseNaoArredondaComoDouble() {
+        // 0.1 + 0.2 em double dá 0.30000000000000004
+        assertEquals(Dinheiro.parse("0.30"), Dinheiro.parse("0.1").mais(Dinheiro.parse("0.2")));
+        assertEquals(Long.MAX_VALUE, Dinheiro.parse("92233720368547758.07").centavos());
+    }
+
+    @Test
+    void parseRecusaTextoInvalido() {
+        for (String texto : new String[] {"", "abc", "1.234", ".50", "1e3", "1.2.3", "12,5a", "--1", "1 000"}) {
+            assertThrows(NumberFormatException.class, () -> Dinheiro.parse(texto), texto);
+        }
+    }
+
+    @Test
+    void parseRecusaValorForaDoIntervalo() {
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("92233720368547758.08"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("99999999999999999999"));
+    }
+
+    @Test
+    void deReaisArredondaParaOCentavo() {
+        assertEquals(1999, Dinheiro.deReais(19.99).centavos());
+        assertEquals(30, Dinheiro.deReais(0.1 + 0.2).centavos());
+        assertEquals(1, Dinheiro.deReais(0.005).centavos());
+    }
+
+    @Test
+    void deReaisRecusaValorForaDoIntervalo() {
+        assertThrows(IllegalArgumentException.class, () -> Dinheiro.deReais(1e30));
+        assertThrows(IllegalArgumentException.class, () -> Dinheiro.deReais(-1e30));
+        assertThrows(IllegalArgumentException.class, () -> Dinheiro.deReais(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Dinheiro.deReais(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void operacoesEstouramEmVezDeDarVolta() {
+        Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> maximo.mais(Dinheiro.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MIN_VALUE).menos(Dinheiro.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> maximo.vezes(2));
+        assertEquals(2500, Dinheiro.parse("2.50").vezes(10).centavos());
+    }
+
+    @Test
+    void formataParaTelaEArquivo() {
+        assertEquals("R$ 1234,50", Dinheiro.parse("1234.5").formatar());
+        assertEquals("R$ 0,07", Dinheiro.deCentavos(7).formatar());
+        assertEquals("R$ -0,50", Dinheiro.deCentavos(-50).formatar());
+        assertEquals("R$ -12,05", Dinheiro.deCentavos(-1205).formatar());
+        assertEquals("12.50", Dinheiro.deCentavos(1250).toString());
+        assertEquals("-0.01", Dinheiro.deCentavos(-1).toString());
+    }
+
+    @Test
+    void toStringVoltaPeloParse() {
+        for (long centavos : new long[] {0, 1, -1, 99, -150, 123456, Long.MAX_VALUE, Long.MIN_VALUE + 1}) {
+            Dinheiro valor = Dinheiro.deCentavos(centavos);
+            assertEquals(valor, Dinheiro.parse(valor.toString()));
+        }
+    }
+}
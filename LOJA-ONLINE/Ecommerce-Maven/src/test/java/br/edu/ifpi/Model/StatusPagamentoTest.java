@@ -0,0 +1,33 @@
+package br.edu.ifpi.Model;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StatusPagamentoTest {
+
+    @Test
+    void unicaTransicaoEPendenteParaPago() {
+        assertTrue(StatusPagamento.PENDENTE.podeMudarPara(StatusPagamento.PAGO));
+        assertFalse(StatusPagamento.PENDENTE.podeMudarPara(StatusPagamento.PENDENTE));
+        assertFalse(StatusPagamento.PAGO.podeMudarPara(StatusPagamento.PAGO));
+        assertFalse(StatusPagamento.PAGO.podeMudarPara(StatusPagamento.PENDENTE));
+    }
+
+    @Test
+    void validarMudancaPara() {
+        assertDoesNotThrow(() -> StatusPagamento.PENDENTE.validarMudancaPara(StatusPagamento.PAGO));
+        assertThrows(IllegalStateException.class, () -> StatusPagamento.PAGO.validarMudancaPara(StatusPagamento.PAGO));
+    }
+
+    @Test
+    void codigos() {
+        assertEquals(StatusPagamento.PENDENTE, StatusPagamento.deCodigo((short) 1));
+        assertEquals(StatusPagamento.PAGO, StatusPagamento.deCodigo((short) 2));
+        assertThrows(IllegalArgumentException.class, () -> StatusPagamento.deCodigo((short) 3));
+    }
+}
@@ -0,0 +1,61 @@
+package br.edu.ifpi.Model;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class StatusPedidoTest {
+
+    private static Set<StatusPedido> proximos(StatusPedido origem) {
+        Set<StatusPedido> proximos = EnumSet.noneOf(StatusPedido.class);
+        for (StatusPedido destino : StatusPedido.values()) {
+            if (origem.podeMudarPara(destino)) {
+                proximos.add(destino);
+            }
+        }
+        return proximos;
+    }
+
+    @Test
+    void tabelaDeTransicoes() {
+        assertEquals(EnumSet.of(StatusPedido.APROVADO, StatusPedido.RECUSADO, StatusPedido.FINALIZADO, StatusPedido.PAGAMENTO_RECUSADO),
+                proximos(StatusPedido.PENDENTE));
+        assertEquals(EnumSet.of(StatusPedido.FINALIZADO), proximos(StatusPedido.APROVADO));
+        assertEquals(EnumSet.of(StatusPedido.APROVADO, StatusPedido.RECUSADO), proximos(StatusPedido.RECUSADO));
+        assertEquals(EnumSet.of(StatusPedido.FINALIZADO, StatusPedido.PAGAMENTO_RECUSADO), proximos(StatusPedido.PAGAMENTO_RECUSADO));
+        assertTrue(proximos(StatusPedido.FINALIZADO).isEmpty());
+    }
+
+    @Test
+    void origensSaoOInversoDaTabela() {
+        for (StatusPedido destino : StatusPedido.values()) {
+            for (StatusPedido origem : StatusPedido.values()) {
+                assertEquals(origem.podeMudarPara(destino), destino.getOrigens().contains(origem), origem + " -> " + destino);
+            }
+        }
+        assertEquals(EnumSet.of(StatusPedido.PENDENTE, StatusPedido.RECUSADO), StatusPedido.APROVADO.getOrigens());
+        assertThrows(UnsupportedOperationException.class, () -> StatusPedido.FINALIZADO.getOrigens().clear());
+    }
+
+    @Test
+    void validarMudancaPara() {
+        assertDoesNotThrow(() -> StatusPedido.APROVADO.validarMudancaPara(StatusPedido.FINALIZADO));
+        assertThrows(IllegalStateException.class, () -> StatusPedido.APROVADO.validarMudancaPara(StatusPedido.PAGAMENTO_RECUSADO));
+        assertThrows(IllegalStateException.class, () -> StatusPedido.FINALIZADO.validarMudancaPara(StatusPedido.PENDENTE));
+    }
+
+    @Test
+    void codigos() {
+        for (StatusPedido status : StatusPedido.values()) {
+            assertEquals(status, StatusPedido.deCodigo(status.getCodigo()));
+        }
+        assertEquals(1, StatusPedido.PENDENTE.getCodigo());
+        assertEquals(5, StatusPedido.PAGAMENTO_RECUSADO.getCodigo());
+        assertThrows(IllegalArgumentException.class, () -> StatusPedido.deCodigo((short) 0));
+    }
+}